@@ -2,11 +2,13 @@ package com.regioninvest.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import jakarta.annotation.PostConstruct;
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class FileUploadConfig implements WebMvcConfigurer {
@@ -14,6 +16,9 @@ public class FileUploadConfig implements WebMvcConfigurer {
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
 
+    @Value("${app.storage.type:local}")
+    private String storageType;
+
     @PostConstruct
     public void init() {
         // Créer le répertoire d'upload s'il n'existe pas
@@ -30,8 +35,14 @@ public class FileUploadConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Servir les fichiers statiques uploadés
+        if (!"local".equals(storageType)) {
+            // Stockage objet: /uploads/** est servi par UploadController (redirection vers le bucket)
+            return;
+        }
+        // Servir les fichiers statiques uploadés: un chemin ne change jamais de contenu
+        // (adressé par son hash, ou horodaté pour les anciens fichiers), cache illimité
         registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + uploadDir + "/");
+                .addResourceLocations("file:" + uploadDir + "/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.regioninvest.config;
 
 import com.regioninvest.service.UserService;
 import com.regioninvest.util.JwtRequestFilter;
+import com.regioninvest.util.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,6 +40,9 @@ public class SecurityConfig {
     @Autowired
     private JwtRequestFilter jwtRequestFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     /**
      * 🆕 CUSTOM: Email-based UserDetailsService
      * This makes Spring Security authenticate using EMAIL instead of USERNAME
@@ -93,7 +97,8 @@ public class SecurityConfig {
 
         // Expose headers that might be needed by frontend
         configuration.setExposedHeaders(Arrays.asList(
-                "Authorization", "Content-Type", "Content-Length", "X-Requested-With"
+                "Authorization", "Content-Type", "Content-Length", "X-Requested-With",
+                "X-Total-Count", "X-Total-Pages", "X-Next-Cursor"
         ));
 
         // Set max age for preflight requests (24 hours)
@@ -122,8 +127,10 @@ public class SecurityConfig {
 
                         // 📊 Public project endpoints (read-only) ← ADD THESE
                         .requestMatchers(HttpMethod.GET, "/api/projects", "/api/projects/search", "/api/projects/stats").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/projects/{id}", "/api/projects/{id}/similar", "/api/projects/{id}/view").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/projects/{id}", "/api/projects/{id}/similar", "/api/projects/{id}/view",
+                                "/api/projects/{id}/pdf/preview").permitAll()
                         .requestMatchers("/api/articles/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/placeholder/**").permitAll()
 
                         // 🧪 Test endpoints (remove in production)
                         .requestMatchers("/api/projects/test-upload").permitAll()
@@ -131,12 +138,18 @@ public class SecurityConfig {
                         // 👑 Admin endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
+                        // 📈 Actuator: health/info public, metrics for admins
+                        .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // 🏗️ Porteur endpoints - FIXED: Both create endpoints
                         .requestMatchers(HttpMethod.POST, "/api/projects").hasAnyRole("ADMIN", "PORTEUR")
                         .requestMatchers(HttpMethod.POST, "/api/projects/upload").hasAnyRole("ADMIN", "PORTEUR")
                         .requestMatchers(HttpMethod.PUT, "/api/projects/**").hasAnyRole("ADMIN", "PORTEUR")
                         .requestMatchers(HttpMethod.DELETE, "/api/projects/**").hasAnyRole("ADMIN", "PORTEUR")
                         .requestMatchers("/api/projects/my").hasAnyRole("ADMIN", "PORTEUR")
+                        .requestMatchers("/api/projects/uploads", "/api/projects/uploads/**").hasAnyRole("ADMIN", "PORTEUR")
+                        .requestMatchers("/api/projects/submissions", "/api/projects/submissions/**").hasAnyRole("ADMIN", "PORTEUR")
                         .requestMatchers("/api/porteur/**").hasAnyRole("ADMIN", "PORTEUR")
 
                         // 💼 Investment endpoints
@@ -156,6 +169,9 @@ public class SecurityConfig {
         // 🔑 Add JWT filter
         http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
 
+        // 🚦 Rate limit before any token parsing or BCrypt work
+        http.addFilterBefore(rateLimitFilter, JwtRequestFilter.class);
+
         return http.build();
     }
 }
\ No newline at end of file
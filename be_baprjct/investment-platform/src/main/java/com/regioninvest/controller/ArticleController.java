@@ -2,13 +2,16 @@ package com.regioninvest.controller;
 
 import com.regioninvest.dto.ArticleDTO;
 import com.regioninvest.dto.ApiResponse;
+import com.regioninvest.service.ArticlePage;
 import com.regioninvest.service.ArticleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/articles")
@@ -20,15 +23,45 @@ public class ArticleController {
 
     /**
      * GET /api/articles - Récupérer tous les articles d'investissement
+     * (avec cursor: une page, la suivante via l'en-tête X-Next-Cursor;
+     * avec page/size: une page, le total dans les en-têtes X-Total-Count / X-Total-Pages;
+     * fields=id,title,... pour ne renvoyer que certains champs)
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ArticleDTO>>> getAllArticles(
+    public ResponseEntity<ApiResponse<?>> getAllArticles(
             @RequestParam(required = false) String sector,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
 
         try {
-            List<ArticleDTO> articles;
+            Set<String> selectedFields = articleService.parseFields(fields);
+            boolean unfiltered = (search == null || search.trim().isEmpty())
+                    && (sector == null || sector.trim().isEmpty());
+            int pageSize = Math.min(Math.max(size, 1), 100);
+
+            if (cursor != null && unfiltered) {
+                ArticlePage articlePage = articleService.getArticlePage(cursor.trim(), pageSize, selectedFields);
+
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (articlePage.getNextCursor() != null) {
+                    response.header("X-Next-Cursor", articlePage.getNextCursor());
+                }
+                return response.body(ApiResponse.success(articlePage.getData(), "Articles récupérés avec succès"));
+            }
+
+            if (page != null && unfiltered) {
+                Page<ArticleDTO> articlePage = articleService.getArticlesPage(Math.max(page, 0), pageSize);
+
+                return ResponseEntity.ok()
+                        .header("X-Total-Count", String.valueOf(articlePage.getTotalElements()))
+                        .header("X-Total-Pages", String.valueOf(articlePage.getTotalPages()))
+                        .body(success(articlePage.getContent(), selectedFields));
+            }
 
+            List<ArticleDTO> articles;
             if (search != null && !search.trim().isEmpty()) {
                 articles = articleService.searchArticles(search.trim());
             } else if (sector != null && !sector.trim().isEmpty()) {
@@ -37,10 +70,10 @@ public class ArticleController {
                 articles = articleService.getAllInvestmentArticles();
             }
 
-            return ResponseEntity.ok(
-                    ApiResponse.success(articles, "Articles récupérés avec succès")
-            );
+            return ResponseEntity.ok(success(articles, selectedFields));
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(
                     ApiResponse.error("Erreur lors de la récupération des articles: " + e.getMessage())
@@ -48,6 +81,14 @@ public class ArticleController {
         }
     }
 
+    // Liste complète, ou restreinte aux champs demandés
+    private ApiResponse<?> success(List<ArticleDTO> articles, Set<String> fields) {
+        if (fields == null) {
+            return ApiResponse.success(articles, "Articles récupérés avec succès");
+        }
+        return ApiResponse.success(articleService.toJson(articles, fields), "Articles récupérés avec succès");
+    }
+
     /**
      * GET /api/articles/featured - Récupérer les articles vedettes
      */
@@ -116,6 +157,57 @@ public class ArticleController {
         }
     }
 
+    /**
+     * GET /api/articles/most-read - Articles les plus lus des 7 derniers jours
+     */
+    @GetMapping("/most-read")
+    public ResponseEntity<ApiResponse<List<ArticleDTO>>> getMostReadArticles(
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<ArticleDTO> articles = articleService.getMostReadThisWeek(Math.min(Math.max(limit, 1), 50));
+            return ResponseEntity.ok(
+                    ApiResponse.success(articles, "Articles les plus lus de la semaine récupérés avec succès")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(
+                    ApiResponse.error("Erreur lors de la récupération des articles les plus lus: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * POST /api/articles/{id}/view - Compter une lecture de l'article
+     */
+    @PostMapping("/{id}/view")
+    public ResponseEntity<ApiResponse<String>> recordView(@PathVariable Long id) {
+        try {
+            if (!articleService.recordView(id)) {
+                return ResponseEntity.status(404).body(ApiResponse.notFound("Article non trouvé"));
+            }
+            return ResponseEntity.ok(ApiResponse.success(null, "Vue enregistrée"));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(
+                    ApiResponse.error("Erreur lors de l'enregistrement de la vue: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * GET /api/articles/sources - État des sources (circuit breaker, dernier succès)
+     */
+    @GetMapping("/sources")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getSourceStatus() {
+        try {
+            return ResponseEntity.ok(
+                    ApiResponse.success(articleService.getSourceStatus(), "État des sources récupéré avec succès")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(
+                    ApiResponse.error("Erreur lors de la récupération de l'état des sources: " + e.getMessage())
+            );
+        }
+    }
+
     /**
      * GET /api/articles/search - Rechercher des articles
      */
@@ -165,17 +257,18 @@ public class ArticleController {
     }
 
     /**
-     * GET /api/articles/refresh - Forcer le rafraîchissement du cache
+     * GET /api/articles/refresh - Demander un rafraîchissement du cache (en arrière-plan)
      */
     @GetMapping("/refresh")
     public ResponseEntity<ApiResponse<String>> refreshArticles() {
         try {
-            // Force le rafraîchissement en récupérant de nouveaux articles
+            // Le rafraîchissement tourne en arrière-plan, on répond avec le snapshot actuel
+            boolean started = articleService.triggerRefresh();
             List<ArticleDTO> articles = articleService.getAllInvestmentArticles();
 
             return ResponseEntity.ok(
                     ApiResponse.success(
-                            "Cache rafraîchi avec succès",
+                            started ? "Rafraîchissement lancé" : "Rafraîchissement déjà en cours",
                             articles.size() + " articles disponibles"
                     )
             );
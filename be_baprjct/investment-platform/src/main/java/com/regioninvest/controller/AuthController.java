@@ -3,17 +3,18 @@ package com.regioninvest.controller;
 import com.regioninvest.dto.AuthResponse;
 import com.regioninvest.dto.LoginRequest;
 import com.regioninvest.dto.RegisterRequest;
+import com.regioninvest.dto.UserDTO;
 import com.regioninvest.entity.User;
 import com.regioninvest.service.UserService;
 import com.regioninvest.util.JwtUtil;
+import com.regioninvest.util.RateLimiter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -24,32 +25,32 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class AuthController {
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
     @Autowired
     private UserService userService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private RateLimiter rateLimiter;
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
-        try {
-            // 🔐 Authenticate using email
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getEmail(),
-                            loginRequest.getPassword()
-                    )
-            );
-
-            // Load user details by email
-            final UserDetails userDetails = userService.loadUserByEmail(loginRequest.getEmail());
-            final String jwt = jwtUtil.generateToken(userDetails);
+        // 🚦 Per-account limit: stops credential stuffing spread across many IPs
+        long waitMillis = rateLimiter.tryAcquire(RateLimiter.GROUP_LOGIN_ACCOUNT,
+                loginRequest.getEmail().trim().toLowerCase());
+        if (waitMillis > 0) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Too many login attempts. Please try again later.");
+            return ResponseEntity.status(429)
+                    .header("Retry-After", String.valueOf(Math.max(1, (waitMillis + 999) / 1000)))
+                    .body(error);
+        }
 
-            // Get user by email
-            User user = userService.findByEmail(loginRequest.getEmail()).orElseThrow();
+        try {
+            // 🔐 Single lookup: load user + role, verify password, issue token from the same entity
+            User user = userService.authenticate(loginRequest.getEmail(), loginRequest.getPassword());
+            final String jwt = jwtUtil.generateToken(user);
 
             System.out.println("✅ Successful login: " + user.getUsername() + " (" + user.getRole().getName() + ") at " + java.time.LocalDateTime.now());
 
@@ -104,37 +105,76 @@ public class AuthController {
         }
     }
 
+    /**
+     * 🆕 NEW: Request a password reset token
+     */
+    @PostMapping("/forgot-password")
+    public ResponseEntity<?> forgotPassword(@RequestBody Map<String, String> request) {
+        String email = request.get("email");
+        if (email == null || email.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Email is required"));
+        }
+
+        userService.initiatePasswordReset(email.trim());
+
+        // Same answer whether or not the email exists
+        return ResponseEntity.ok(Map.of("message",
+                "If an account exists for this email, a reset link has been sent."));
+    }
+
+    /**
+     * 🆕 NEW: Reset password with a token
+     */
+    @PostMapping("/reset-password")
+    public ResponseEntity<?> resetPassword(@RequestBody Map<String, String> request) {
+        String token = request.get("token");
+        String newPassword = request.get("newPassword");
+
+        if (newPassword == null || newPassword.length() < 6) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Password must be at least 6 characters"));
+        }
+
+        if (!userService.resetPassword(token, newPassword)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid or expired reset token"));
+        }
+
+        return ResponseEntity.ok(Map.of("message", "Password reset successfully"));
+    }
+
     @GetMapping("/validate")
     public ResponseEntity<?> validateToken(@RequestHeader("Authorization") String token) {
         try {
             String jwt = token.replace("Bearer ", "");
 
-            if (jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
-                User user = userService.findByUsername(username).orElseThrow();
-
-                // Check if user is still enabled
-                if (!user.getIsEnabled()) {
-                    Map<String, Object> error = new HashMap<>();
-                    error.put("valid", false);
-                    error.put("error", "Account is disabled");
-                    return ResponseEntity.badRequest().body(error);
-                }
-
-                Map<String, Object> response = new HashMap<>();
-                response.put("valid", true);
-                response.put("username", user.getUsername());
-                response.put("email", user.getEmail());
-                response.put("role", user.getRole().getName());
-                response.put("expires_at", jwtUtil.extractExpiration(jwt));
-
-                return ResponseEntity.ok(response);
+            // Verify signature + expiry once, then answer from the claims and the user cache
+            Claims claims;
+            try {
+                claims = jwtUtil.parseClaims(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("valid", false);
+                error.put("error", "Invalid or expired token");
+                return ResponseEntity.badRequest().body(error);
             }
 
-            Map<String, Object> error = new HashMap<>();
-            error.put("valid", false);
-            error.put("error", "Invalid or expired token");
-            return ResponseEntity.badRequest().body(error);
+            UserDTO user = userService.findCachedByUsername(claims.getSubject()).orElseThrow();
+
+            // Check if user is still enabled
+            if (!user.isEnabled()) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("valid", false);
+                error.put("error", "Account is disabled");
+                return ResponseEntity.badRequest().body(error);
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("valid", true);
+            response.put("username", user.getUsername());
+            response.put("email", user.getEmail());
+            response.put("role", user.getRole());
+            response.put("expires_at", claims.getExpiration());
+
+            return ResponseEntity.ok(response);
 
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
@@ -171,19 +211,21 @@ public class AuthController {
         try {
             String jwt = token.replace("Bearer ", "");
 
-            if (!jwtUtil.validateToken(jwt)) {
+            Claims claims;
+            try {
+                claims = jwtUtil.parseClaims(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Invalid token"));
             }
 
-            String username = jwtUtil.extractUsername(jwt);
-            User user = userService.findByUsername(username).orElseThrow();
+            UserDTO user = userService.findCachedByUsername(claims.getSubject()).orElseThrow();
 
             Map<String, Object> userInfo = new HashMap<>();
             userInfo.put("id", user.getId());
             userInfo.put("username", user.getUsername());
             userInfo.put("email", user.getEmail());
-            userInfo.put("role", user.getRole().getName());
-            userInfo.put("enabled", user.getIsEnabled());
+            userInfo.put("role", user.getRole());
+            userInfo.put("enabled", user.isEnabled());
             userInfo.put("createdAt", user.getCreatedAt());
 
             return ResponseEntity.ok(userInfo);
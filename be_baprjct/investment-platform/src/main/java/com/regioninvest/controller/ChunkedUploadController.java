@@ -0,0 +1,163 @@
+package com.regioninvest.controller;
+
+import com.regioninvest.dto.ApiResponse;
+import com.regioninvest.dto.ChunkedUploadRequest;
+import com.regioninvest.dto.ProjectDTO;
+import com.regioninvest.entity.ChunkedUpload;
+import com.regioninvest.service.ChunkedUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 🧩 Uploads par morceaux, reprenables après une coupure (gros fichiers de projet):
+ * POST pour démarrer, PUT ?offset= pour chaque morceau (corps brut), GET pour savoir
+ * où reprendre, POST /complete pour vérifier et rattacher le fichier au projet.
+ */
+@RestController
+@RequestMapping("/api/projects/uploads")
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
+@PreAuthorize("hasRole('ADMIN') or hasRole('PORTEUR')")
+public class ChunkedUploadController {
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @Value("${app.upload.chunked.max-chunk-size:8388608}")
+    private long maxChunkSize;
+
+    /**
+     * POST /api/projects/uploads - Démarrer un upload (projet, type, taille, SHA-256)
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> initUpload(
+            @Valid @RequestBody ChunkedUploadRequest request,
+            Authentication authentication) {
+        try {
+            ChunkedUpload upload = chunkedUploadService.init(request, authentication.getName());
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("uploadId", upload.getId());
+            data.put("size", upload.getSize());
+            data.put("received", 0L);
+            data.put("maxChunkSize", maxChunkSize);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success(data, "Upload démarré"));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Projet non trouvé ou accès refusé: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Erreur lors du démarrage de l'upload: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * PUT /api/projects/uploads/{uploadId}?offset= - Envoyer un morceau (application/octet-stream)
+     */
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> uploadChunk(
+            @PathVariable String uploadId,
+            @RequestParam long offset,
+            HttpServletRequest request,
+            Authentication authentication) {
+        try {
+            long received = chunkedUploadService.appendChunk(uploadId, offset, request.getInputStream(),
+                    authentication.getName());
+            return ResponseEntity.ok(ApiResponse.success(progress(received), "Morceau reçu"));
+
+        } catch (ChunkedUploadService.OffsetMismatchException e) {
+            // Le client reprend à partir de "received"
+            ApiResponse<Map<String, Object>> response = ApiResponse.error(e.getMessage(), 409);
+            response.setData(progress(e.getReceived()));
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        } catch (IOException e) {
+            // Connexion coupée pendant le morceau: ce qui a été écrit est conservé
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Erreur lors de la réception du morceau: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/projects/uploads/{uploadId} - Octets déjà reçus (reprise)
+     */
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getUploadStatus(
+            @PathVariable String uploadId,
+            Authentication authentication) {
+        try {
+            long received = chunkedUploadService.received(uploadId, authentication.getName());
+            return ResponseEntity.ok(ApiResponse.success(progress(received), "État de l'upload"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Erreur lors de la lecture de l'upload: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/projects/uploads/{uploadId}/complete - Vérifier le SHA-256 et rattacher le fichier au projet
+     */
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ApiResponse<ProjectDTO>> completeUpload(
+            @PathVariable String uploadId,
+            Authentication authentication) {
+        try {
+            ProjectDTO project = chunkedUploadService.complete(uploadId, authentication.getName());
+            return ResponseEntity.ok(ApiResponse.success(project, "Fichier ajouté au projet"));
+
+        } catch (ChunkedUploadService.OffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ApiResponse.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Upload ou projet non trouvé, ou accès refusé: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Erreur lors de la finalisation de l'upload: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * DELETE /api/projects/uploads/{uploadId} - Annuler un upload
+     */
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<String>> cancelUpload(
+            @PathVariable String uploadId,
+            Authentication authentication) {
+        try {
+            chunkedUploadService.cancel(uploadId, authentication.getName());
+            return ResponseEntity.ok(ApiResponse.success(null, "Upload annulé"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Erreur lors de l'annulation de l'upload: " + e.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> progress(long received) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("received", received);
+        return data;
+    }
+}
@@ -0,0 +1,50 @@
+package com.regioninvest.controller;
+
+import com.regioninvest.service.PlaceholderImageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/placeholder")
+@CrossOrigin(origins = "*")
+public class PlaceholderController {
+
+    private static final MediaType SVG = MediaType.valueOf("image/svg+xml");
+
+    @Autowired
+    private PlaceholderImageService placeholderImageService;
+
+    /**
+     * GET /api/placeholder/{width}/{height} - Image de remplacement (SVG) pour les projets sans image
+     */
+    @GetMapping("/{width}/{height}")
+    public ResponseEntity<byte[]> getPlaceholder(@PathVariable int width,
+                                                 @PathVariable int height,
+                                                 WebRequest webRequest) {
+        byte[] svg;
+        try {
+            svg = placeholderImageService.render(width, height);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        // Le contenu ne dépend que de la taille: cache navigateur/CDN illimité
+        String etag = "\"placeholder-" + width + "x" + height + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(SVG)
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .eTag(etag)
+                .body(svg);
+    }
+}
@@ -6,19 +6,24 @@ import com.regioninvest.dto.ProjectDTO;
 import com.regioninvest.dto.ProjectCreateRequest;
 import com.regioninvest.dto.ProjectResponse;
 import com.regioninvest.dto.ApiResponse;
+import com.regioninvest.service.BlobStore;
+import com.regioninvest.service.PdfPreviewService;
 import com.regioninvest.service.ProjectService;
 
 import com.regioninvest.service.UserService;
+import com.regioninvest.util.FileRangeSender;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -28,8 +33,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -47,6 +54,20 @@ public class ProjectController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private PdfPreviewService pdfPreviewService;
+
+    // Durée de cache navigateur des PDF (revalidés ensuite par ETag)
+    @Value("${app.upload.pdf-cache-seconds:86400}")
+    private long pdfCacheSeconds;
+
+    // Validité des liens de téléchargement direct (stockage objet)
+    @Value("${app.storage.direct-url-minutes:15}")
+    private long directUrlMinutes;
+
     private static final Logger logger = LoggerFactory.getLogger(ProjectController.class);
     /**
      * GET /api/projects - Récupérer tous les projets avec filtrage et pagination
@@ -102,33 +123,97 @@ public class ProjectController {
 
     /**
      * 🆕 NEW: GET /api/projects/{id}/pdf - Download project PDF file
+     * Supports Range (partial content) and conditional GET (ETag / If-Modified-Since);
+     * with object storage, redirects to a presigned URL of the bucket instead
      */
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<Resource> downloadProjectPDF(@PathVariable Long id) {
+    public void downloadProjectPDF(@PathVariable Long id,
+                                   HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        ProjectService.ProjectPdf pdf;
         try {
-            ProjectDTO project = projectService.getProjectById(id);
+            pdf = projectService.findProjectPdf(id);
+        } catch (Exception e) {
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
+        }
 
-            if (project.getPdfUrl() == null || project.getPdfUrl().isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
+        if (pdf == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
 
-            // Get the file from uploads directory
-            Path filePath = Paths.get("uploads", project.getPdfUrl());
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_DISPOSITION,
-                                "attachment; filename=\"" + project.getTitle() + "_fiche.pdf\"")
-                        .header(HttpHeaders.CONTENT_TYPE, "application/pdf")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
+        String disposition = ContentDisposition.attachment()
+                .filename(pdf.getTitle() + "_fiche.pdf", StandardCharsets.UTF_8)
+                .build()
+                .toString();
 
+        String directUrl = blobStore.directUrl(pdf.getKey(), Duration.ofMinutes(directUrlMinutes), disposition);
+        if (directUrl != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-store");
+            response.sendRedirect(directUrl);
+            return;
+        }
+
+        FileRangeSender.send(request, response, pdf.getInfo().getSize(), pdf.getInfo().getLastModified(),
+                (start, count, out) -> blobStore.read(pdf.getKey(), start, count, out),
+                MediaType.APPLICATION_PDF_VALUE, disposition, "private, max-age=" + pdfCacheSeconds);
+    }
+
+    /**
+     * GET /api/projects/{id}/pdf/preview?page=1&width= - Aperçu JPEG d'une page du PDF
+     * Public like the PDF under /uploads, so that pdfPreviewUrl works as an <img src>.
+     * With the "v" of pdfPreviewUrl the image never changes and is cached for good;
+     * a stale "v" (PDF replaced) redirects to the current one
+     */
+    @GetMapping("/{id}/pdf/preview")
+    public void previewProjectPDF(@PathVariable Long id,
+                                  @RequestParam(defaultValue = "1") int page,
+                                  @RequestParam(required = false) Integer width,
+                                  @RequestParam(required = false) String v,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        ProjectService.ProjectPdf pdf;
+        try {
+            pdf = projectService.findProjectPdf(id);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
         }
+
+        if (pdf == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        int previewWidth = pdfPreviewService.normalizeWidth(width);
+        String version = PdfPreviewService.urlVersion(pdf.getKey());
+        if (v != null && !v.equals(version)) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, no-cache");
+            response.sendRedirect("/api/projects/" + id + "/pdf/preview?page=" + page
+                    + "&width=" + previewWidth + "&v=" + version);
+            return;
+        }
+
+        Path preview;
+        try {
+            preview = pdfPreviewService.preview(pdf.getKey(), page, previewWidth);
+        } catch (IllegalArgumentException e) {
+            // Page inexistante ou PDF illisible
+            response.setStatus(page < 1 ? HttpStatus.BAD_REQUEST.value() : HttpStatus.NOT_FOUND.value());
+            return;
+        } catch (PdfPreviewService.PreviewBusyException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "2");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        } catch (IOException e) {
+            System.err.println("❌ PDF preview error for project " + id + ": " + e.getMessage());
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
+        }
+
+        FileRangeSender.send(request, response, preview, MediaType.IMAGE_JPEG_VALUE, null,
+                v != null ? "public, max-age=31536000, immutable" : "public, no-cache");
     }
 
     /**
@@ -191,57 +276,10 @@ public class ProjectController {
                         .body(ApiResponse.error("Format JSON invalide: " + e.getMessage()));
             }
 
-            // Validate required fields
-            if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(ApiResponse.error("Le titre du projet est requis"));
-            }
-
-            if (request.getDescription() == null || request.getDescription().trim().isEmpty()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(ApiResponse.error("La description du projet est requise"));
-            }
-
-            if (request.getSector() == null || request.getSector().trim().isEmpty()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(ApiResponse.error("Le secteur est requis"));
-            }
-
-            if (request.getBudget() == null || request.getBudget().compareTo(java.math.BigDecimal.ZERO) <= 0) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(ApiResponse.error("Le budget doit être supérieur à 0"));
-            }
-
-            // Log file information and validate
-            if (image != null && !image.isEmpty()) {
-                System.out.println("📷 Image file: " + image.getOriginalFilename() + " (" + image.getSize() + " bytes)");
-
-                // Validate image file
-                if (image.getContentType() == null || !image.getContentType().startsWith("image/")) {
-                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                            .body(ApiResponse.error("Le fichier image doit être de type image"));
-                }
-
-                if (image.getSize() > 5 * 1024 * 1024) { // 5MB
-                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                            .body(ApiResponse.error("La taille de l'image ne doit pas dépasser 5MB"));
-                }
-            }
-
-            // 🆕 NEW: PDF file validation
-            if (pdfFile != null && !pdfFile.isEmpty()) {
-                System.out.println("📄 PDF file: " + pdfFile.getOriginalFilename() + " (" + pdfFile.getSize() + " bytes)");
-
-                // Validate PDF file
-                if (!"application/pdf".equals(pdfFile.getContentType())) {
-                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                            .body(ApiResponse.error("Le fichier doit être un PDF"));
-                }
-
-                if (pdfFile.getSize() > 10 * 1024 * 1024) { // 10MB
-                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                            .body(ApiResponse.error("La taille du PDF ne doit pas dépasser 10MB"));
-                }
+            // Validate required fields and files
+            String invalid = validateUpload(request, image, pdfFile);
+            if (invalid != null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(invalid));
             }
 
             // 🆕 UPDATED: Create project with both image and PDF files
@@ -397,9 +435,7 @@ public class ProjectController {
 
         try {
             String username = authentication.getName();
-            String projectTitle = projectService.getProjectById(id).getTitle();
-
-            projectService.deleteProject(id, username);
+            String projectTitle = projectService.deleteProject(id, username);
 
             System.out.println("✅ Project deleted: " + projectTitle + " by " + username);
 
@@ -502,4 +538,57 @@ public class ProjectController {
             return ResponseEntity.ok(ApiResponse.success(null, "OK"));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Champs requis et fichiers d'un projet envoyé en multipart (création directe ou asynchrone)
+     *
+     * @return message d'erreur, ou null si la demande est valide
+     */
+    static String validateUpload(ProjectCreateRequest request, MultipartFile image, MultipartFile pdfFile) {
+        if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
+            return "Le titre du projet est requis";
+        }
+
+        if (request.getDescription() == null || request.getDescription().trim().isEmpty()) {
+            return "La description du projet est requise";
+        }
+
+        if (request.getSector() == null || request.getSector().trim().isEmpty()) {
+            return "Le secteur est requis";
+        }
+
+        if (request.getBudget() == null || request.getBudget().compareTo(java.math.BigDecimal.ZERO) <= 0) {
+            return "Le budget doit être supérieur à 0";
+        }
+
+        // Log file information and validate
+        if (image != null && !image.isEmpty()) {
+            System.out.println("📷 Image file: " + image.getOriginalFilename() + " (" + image.getSize() + " bytes)");
+
+            // Validate image file
+            if (image.getContentType() == null || !image.getContentType().startsWith("image/")) {
+                return "Le fichier image doit être de type image";
+            }
+
+            if (image.getSize() > 5 * 1024 * 1024) { // 5MB
+                return "La taille de l'image ne doit pas dépasser 5MB";
+            }
+        }
+
+        // 🆕 NEW: PDF file validation
+        if (pdfFile != null && !pdfFile.isEmpty()) {
+            System.out.println("📄 PDF file: " + pdfFile.getOriginalFilename() + " (" + pdfFile.getSize() + " bytes)");
+
+            // Validate PDF file
+            if (!"application/pdf".equals(pdfFile.getContentType())) {
+                return "Le fichier doit être un PDF";
+            }
+
+            if (pdfFile.getSize() > 10 * 1024 * 1024) { // 10MB
+                return "La taille du PDF ne doit pas dépasser 10MB";
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,127 @@
+package com.regioninvest.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regioninvest.dto.ApiResponse;
+import com.regioninvest.dto.ProjectCreateRequest;
+import com.regioninvest.entity.ProjectSubmission;
+import com.regioninvest.entity.SubmissionStatus;
+import com.regioninvest.service.ProjectService;
+import com.regioninvest.service.ProjectSubmissionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 📨 Création asynchrone de projets: la soumission est acceptée (202) dès que les
+ * fichiers sont mis de côté, le projet est créé en arrière-plan et son état se
+ * consulte sur /api/projects/submissions/{id}.
+ */
+@RestController
+@RequestMapping("/api/projects/submissions")
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.OPTIONS})
+@PreAuthorize("hasRole('ADMIN') or hasRole('PORTEUR')")
+public class ProjectSubmissionController {
+
+    @Autowired
+    private ProjectSubmissionService projectSubmissionService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * POST /api/projects/submissions - Soumettre un projet avec fichiers (mêmes champs que /api/projects/upload)
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<Map<String, Object>>> submitProject(
+            @RequestParam("project") String projectJson,
+            @RequestParam(value = "image", required = false) MultipartFile image,
+            @RequestParam(value = "pdfFile", required = false) MultipartFile pdfFile,
+            Authentication authentication) {
+
+        try {
+            ProjectCreateRequest request;
+            try {
+                request = objectMapper.readValue(projectJson, ProjectCreateRequest.class);
+            } catch (JsonProcessingException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ApiResponse.error("Format JSON invalide: " + e.getMessage()));
+            }
+
+            String invalid = ProjectController.validateUpload(request, image, pdfFile);
+            if (invalid != null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(invalid));
+            }
+
+            ProjectSubmission submission = projectSubmissionService.submit(request, image, pdfFile, authentication.getName());
+            System.out.println("📨 Project submission " + submission.getId() + " accepted for " + authentication.getName());
+
+            String statusUrl = "/api/projects/submissions/" + submission.getId();
+            Map<String, Object> data = new HashMap<>();
+            data.put("submissionId", submission.getId());
+            data.put("status", submission.getStatus());
+            data.put("statusUrl", statusUrl);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, statusUrl)
+                    .body(ApiResponse.success(data, "Projet soumis, création en cours"));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Données invalides: " + e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("❌ Project submission error: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Erreur lors de la soumission du projet: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/projects/submissions/{id} - État de la soumission (et projet créé une fois terminée)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSubmission(
+            @PathVariable String id,
+            Authentication authentication) {
+        try {
+            ProjectSubmission submission = projectSubmissionService.getSubmission(id, authentication.getName());
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("submissionId", submission.getId());
+            data.put("status", submission.getStatus());
+            data.put("createdAt", submission.getCreatedAt());
+            data.put("completedAt", submission.getCompletedAt());
+            data.put("projectId", submission.getProjectId());
+            data.put("error", submission.getError());
+            if (submission.getStatus() == SubmissionStatus.COMPLETED) {
+                // Sans vue comptée; absent si le projet a été supprimé depuis
+                projectService.findProjectDetails(submission.getProjectId())
+                        .ifPresent(project -> data.put("project", project));
+            }
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (submission.getStatus() == SubmissionStatus.PENDING || submission.getStatus() == SubmissionStatus.PROCESSING) {
+                // Intervalle de sondage suggéré
+                response.header(HttpHeaders.RETRY_AFTER, "2");
+            }
+            return response.body(ApiResponse.success(data, "État de la soumission"));
+
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Erreur lors de la lecture de la soumission: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.regioninvest.controller;
+
+import com.regioninvest.service.BlobStore;
+import com.regioninvest.util.FileRangeSender;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * /uploads/** when files are in object storage (app.storage.type=s3): redirect to a
+ * presigned URL of the bucket, or stream the file when direct downloads are disabled.
+ * With local storage the static resource handler of FileUploadConfig serves them.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class UploadController {
+
+    private static final String PREFIX = "/uploads/";
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${app.storage.direct-url-minutes:15}")
+    private long directUrlMinutes;
+
+    /**
+     * GET /uploads/{key} - Fichier uploadé (image, variante, PDF)
+     */
+    @GetMapping("/uploads/**")
+    public void getUpload(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = UriUtils.decode(path.substring(PREFIX.length()), StandardCharsets.UTF_8);
+
+        try {
+            // Sans requête au bucket: il répond lui-même 404 si le fichier n'existe pas
+            String directUrl = blobStore.directUrl(key, Duration.ofMinutes(directUrlMinutes), null);
+            if (directUrl != null) {
+                // La redirection peut être mise en cache tant que le lien signé reste valide
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + (directUrlMinutes * 60 / 2));
+                response.sendRedirect(directUrl);
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        BlobStore.BlobInfo info = blobStore.stat(key);
+        if (info == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        // Un chemin ne change jamais de contenu: cache illimité, comme en stockage local
+        String contentType = MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        FileRangeSender.send(request, response, info.getSize(), info.getLastModified(),
+                (start, count, out) -> blobStore.read(key, start, count, out),
+                contentType, null, "public, max-age=31536000, immutable");
+    }
+}
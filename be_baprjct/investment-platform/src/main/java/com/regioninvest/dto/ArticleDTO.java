@@ -1,5 +1,8 @@
 package com.regioninvest.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -21,6 +24,11 @@ public class ArticleDTO {
     // 🔥 NEW FIELDS FOR REAL ARTICLES
     private String sourceUrl;    // Real link to original article
     private String sourceName;   // Name of news source
+    private LocalDateTime publishedAt; // Full publication time (date keeps yyyy-MM-dd)
+
+    // Same story published by other sources (near-duplicates merged into this article)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<SourceLink> alternateSources;
 
     // Constructeur par défaut
     public ArticleDTO() {}
@@ -62,6 +70,7 @@ public class ArticleDTO {
         private boolean featured;
         private String sourceUrl;
         private String sourceName;
+        private LocalDateTime publishedAt;
 
         public ArticleDTOBuilder id(Long id) {
             this.id = id;
@@ -123,9 +132,16 @@ public class ArticleDTO {
             return this;
         }
 
+        public ArticleDTOBuilder publishedAt(LocalDateTime publishedAt) {
+            this.publishedAt = publishedAt;
+            return this;
+        }
+
         public ArticleDTO build() {
-            return new ArticleDTO(id, title, content, sector, date, readingTime,
+            ArticleDTO article = new ArticleDTO(id, title, content, sector, date, readingTime,
                     views, tags, image, featured, sourceUrl, sourceName);
+            article.setPublishedAt(publishedAt);
+            return article;
         }
     }
 
@@ -194,6 +210,14 @@ public class ArticleDTO {
         this.tags = tags;
     }
 
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
     public String getImage() {
         return image;
     }
@@ -226,6 +250,35 @@ public class ArticleDTO {
         this.sourceName = sourceName;
     }
 
+    public List<SourceLink> getAlternateSources() {
+        return alternateSources;
+    }
+
+    public void setAlternateSources(List<SourceLink> alternateSources) {
+        this.alternateSources = alternateSources;
+    }
+
+    /**
+     * 🔗 Link to the same article on another source
+     */
+    public static class SourceLink {
+        private String sourceName;
+        private String sourceUrl;
+
+        public SourceLink() {}
+
+        public SourceLink(String sourceName, String sourceUrl) {
+            this.sourceName = sourceName;
+            this.sourceUrl = sourceUrl;
+        }
+
+        public String getSourceName() { return sourceName; }
+        public void setSourceName(String sourceName) { this.sourceName = sourceName; }
+
+        public String getSourceUrl() { return sourceUrl; }
+        public void setSourceUrl(String sourceUrl) { this.sourceUrl = sourceUrl; }
+    }
+
     @Override
     public String toString() {
         return "ArticleDTO{" +
@@ -0,0 +1,56 @@
+package com.regioninvest.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO pour démarrer un upload par morceaux (fichier volumineux rattaché à un projet)
+ */
+public class ChunkedUploadRequest {
+
+    @NotNull(message = "Le projet est requis")
+    private Long projectId;
+
+    @NotBlank(message = "Le type de fichier est requis")
+    @Pattern(regexp = "image|pdf", message = "Le type de fichier doit être image ou pdf")
+    private String kind;
+
+    @Size(max = 255, message = "Le nom du fichier ne peut pas dépasser 255 caractères")
+    private String fileName;
+
+    @Size(max = 100, message = "Le type de contenu ne peut pas dépasser 100 caractères")
+    private String contentType;
+
+    @NotNull(message = "La taille est requise")
+    @Positive(message = "La taille doit être positive")
+    private Long size;
+
+    @NotBlank(message = "Le SHA-256 est requis")
+    @Pattern(regexp = "[0-9a-fA-F]{64}", message = "Le SHA-256 doit contenir 64 caractères hexadécimaux")
+    private String sha256;
+
+    // Constructeurs
+    public ChunkedUploadRequest() {}
+
+    // Getters et Setters
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public Long getSize() { return size; }
+    public void setSize(Long size) { this.size = size; }
+
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+}
@@ -52,7 +52,9 @@ public class ProjectDTO {
     private String incentives;
     private String partners;
     private String imageUrl;
+    private String imagePreview; // aperçu flou (data URI) affiché en attendant l'image
     private String pdfUrl; // 🆕 ADD PDF SUPPORT
+    private String pdfPreviewUrl; // aperçu JPEG de la première page
     private String publishTime;
     private String status;
     private String category;
@@ -231,6 +233,14 @@ public class ProjectDTO {
         this.imageUrl = imageUrl;
     }
 
+    public String getImagePreview() {
+        return imagePreview;
+    }
+
+    public void setImagePreview(String imagePreview) {
+        this.imagePreview = imagePreview;
+    }
+
     // 🆕 PDF URL getter/setter
     public String getPdfUrl() {
         return pdfUrl;
@@ -240,6 +250,14 @@ public class ProjectDTO {
         this.pdfUrl = pdfUrl;
     }
 
+    public String getPdfPreviewUrl() {
+        return pdfPreviewUrl;
+    }
+
+    public void setPdfPreviewUrl(String pdfPreviewUrl) {
+        this.pdfPreviewUrl = pdfPreviewUrl;
+    }
+
     public String getPublishTime() {
         return publishTime;
     }
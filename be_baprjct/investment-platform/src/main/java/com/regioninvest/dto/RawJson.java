@@ -0,0 +1,33 @@
+package com.regioninvest.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * JSON déjà sérialisé, écrit tel quel (ex: page d'articles mise en cache dans une ApiResponse)
+ */
+public final class RawJson implements JsonSerializable {
+
+    private final String json;
+
+    public RawJson(String json) {
+        this.json = json;
+    }
+
+    public String getJson() { return json; }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
@@ -0,0 +1,47 @@
+package com.regioninvest.dto;
+
+import com.regioninvest.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a user, safe to cache (no password hash, no lazy relations)
+ */
+public class UserDTO {
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String role;
+    private final boolean enabled;
+    private final LocalDateTime createdAt;
+
+    public UserDTO(Long id, String username, String email, String role,
+                   boolean enabled, LocalDateTime createdAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.role = role;
+        this.enabled = enabled;
+        this.createdAt = createdAt;
+    }
+
+    public static UserDTO from(User user) {
+        return new UserDTO(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getRole() != null ? user.getRole().getName() : null,
+                Boolean.TRUE.equals(user.getIsEnabled()),
+                user.getCreatedAt()
+        );
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public String getEmail() { return email; }
+    public String getRole() { return role; }
+    public boolean isEnabled() { return enabled; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
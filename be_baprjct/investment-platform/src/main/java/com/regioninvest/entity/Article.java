@@ -11,11 +11,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+        @Index(name = "ux_article_source_url_hash", columnList = "source_url_hash", unique = true),
+        @Index(name = "ix_article_published_at", columnList = "published_at"),
+        @Index(name = "ix_article_duplicate_of", columnList = "duplicate_of_id")
+})
 public class Article {
 
+    // Séquence (et non IDENTITY) pour permettre les insertions JDBC par lots
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_seq")
+    @SequenceGenerator(name = "article_seq", sequenceName = "article_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -44,9 +50,17 @@ public class Article {
     @Column(name = "source_url", columnDefinition = "TEXT")
     private String sourceUrl;
 
+    // SHA-256 hex of sourceUrl: dedup key for ingestion
+    @Column(name = "source_url_hash", length = 64, unique = true)
+    private String sourceUrlHash;
+
     @Column(name = "image_url", columnDefinition = "TEXT")
     private String imageUrl;
 
+    // Near-duplicate of this (canonical) article from another source; kept inactive
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOf;
+
     @Column(name = "published_at")
     private LocalDateTime publishedAt;
 
@@ -174,6 +188,14 @@ public class Article {
         this.sourceUrl = sourceUrl;
     }
 
+    public String getSourceUrlHash() {
+        return sourceUrlHash;
+    }
+
+    public void setSourceUrlHash(String sourceUrlHash) {
+        this.sourceUrlHash = sourceUrlHash;
+    }
+
     public String getImageUrl() {
         return imageUrl;
     }
@@ -182,6 +204,14 @@ public class Article {
         this.imageUrl = imageUrl;
     }
 
+    public Long getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    public void setDuplicateOf(Long duplicateOf) {
+        this.duplicateOf = duplicateOf;
+    }
+
     public LocalDateTime getPublishedAt() {
         return publishedAt;
     }
@@ -0,0 +1,90 @@
+package com.regioninvest.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Upload par morceaux en cours (fichier volumineux d'un projet): les morceaux sont
+ * ajoutés à un fichier temporaire, puis le fichier est vérifié (SHA-256) et rattaché
+ * au projet. Abandonné, il est supprimé après le délai d'expiration.
+ */
+@Entity
+@Table(name = "chunked_uploads", indexes = {
+        @Index(name = "ix_chunked_uploads_updated", columnList = "updated_at")
+})
+public class ChunkedUpload {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false, length = 100)
+    private String username;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    // "image" ou "pdf": champ du projet auquel le fichier sera rattaché
+    @Column(nullable = false, length = 10)
+    private String kind;
+
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    // Taille totale annoncée à l'initialisation
+    @Column(nullable = false)
+    private Long size;
+
+    // SHA-256 attendu (hexadécimal), vérifié à la fin
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructeurs
+    public ChunkedUpload() {}
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    // Getters et Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public Long getSize() { return size; }
+    public void setSize(Long size) { this.size = size; }
+
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
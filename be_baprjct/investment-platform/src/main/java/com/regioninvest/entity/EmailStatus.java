@@ -0,0 +1,5 @@
+package com.regioninvest.entity;
+
+public enum EmailStatus {
+    PENDING, SENT, FAILED
+}
@@ -0,0 +1,56 @@
+package com.regioninvest.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Texte extrait d'un PDF de projet, par contenu (SHA-256): un PDF identique envoyé
+ * de nouveau n'est pas relu. Le texte est normalisé pour la recherche (minuscules,
+ * espaces simples) et tronqué.
+ */
+@Entity
+@Table(name = "pdf_texts")
+public class PdfText {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    // Pages lues (0 si le PDF est illisible ou protégé)
+    @Column(nullable = false)
+    private Integer pages;
+
+    @Column(name = "extracted_at", nullable = false)
+    private LocalDateTime extractedAt;
+
+    // Constructeurs
+    public PdfText() {}
+
+    public PdfText(String sha256, String content, int pages) {
+        this.sha256 = sha256;
+        this.content = content;
+        this.pages = pages;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        extractedAt = LocalDateTime.now();
+    }
+
+    // Getters et Setters
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public Integer getPages() { return pages; }
+    public void setPages(Integer pages) { this.pages = pages; }
+
+    public LocalDateTime getExtractedAt() { return extractedAt; }
+    public void setExtractedAt(LocalDateTime extractedAt) { this.extractedAt = extractedAt; }
+}
@@ -77,6 +77,24 @@ public class Project {
     @Column(name = "pdf_url") // 🆕 NEW: PDF URL field
     private String pdfUrl;
 
+    // SHA-256 du PDF dont le texte a été extrait (pdf_texts), null tant qu'il ne l'est pas
+    @Column(name = "pdf_text_hash", length = 64)
+    private String pdfTextHash;
+
+    // Variantes redimensionnées de l'image, générées en arrière-plan (null tant qu'elles ne sont pas prêtes)
+    @Column(name = "image_catalog_url")
+    private String imageCatalogUrl;
+
+    @Column(name = "image_detail_url")
+    private String imageDetailUrl;
+
+    @Column(name = "image_thumb_url")
+    private String imageThumbUrl;
+
+    // Aperçu flou de l'image (data URI de quelques centaines d'octets)
+    @Column(name = "image_preview", length = 4000)
+    private String imagePreview;
+
     @Column(name = "publish_time")
     private String publishTime;
 
@@ -277,6 +295,46 @@ public class Project {
         this.pdfUrl = pdfUrl;
     }
 
+    public String getPdfTextHash() {
+        return pdfTextHash;
+    }
+
+    public void setPdfTextHash(String pdfTextHash) {
+        this.pdfTextHash = pdfTextHash;
+    }
+
+    public String getImageCatalogUrl() {
+        return imageCatalogUrl;
+    }
+
+    public void setImageCatalogUrl(String imageCatalogUrl) {
+        this.imageCatalogUrl = imageCatalogUrl;
+    }
+
+    public String getImageDetailUrl() {
+        return imageDetailUrl;
+    }
+
+    public void setImageDetailUrl(String imageDetailUrl) {
+        this.imageDetailUrl = imageDetailUrl;
+    }
+
+    public String getImageThumbUrl() {
+        return imageThumbUrl;
+    }
+
+    public void setImageThumbUrl(String imageThumbUrl) {
+        this.imageThumbUrl = imageThumbUrl;
+    }
+
+    public String getImagePreview() {
+        return imagePreview;
+    }
+
+    public void setImagePreview(String imagePreview) {
+        this.imagePreview = imagePreview;
+    }
+
     public String getPublishTime() {
         return publishTime;
     }
@@ -0,0 +1,109 @@
+package com.regioninvest.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Soumission asynchrone d'un projet: les données et les fichiers sont mis de côté
+ * pendant la requête, le projet est créé ensuite par un worker. Le client suit
+ * l'état avec l'id de la soumission.
+ */
+@Entity
+@Table(name = "project_submissions", indexes = {
+        @Index(name = "ix_project_submissions_status", columnList = "status, lease_until")
+})
+public class ProjectSubmission {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false, length = 100)
+    private String username;
+
+    // ProjectCreateRequest sérialisé
+    @Column(name = "request_json", columnDefinition = "TEXT", nullable = false)
+    private String requestJson;
+
+    // Fichiers mis de côté (nom d'origine et type, pour l'extension de l'image)
+    @Column(name = "image_name", length = 255)
+    private String imageName;
+
+    @Column(name = "image_content_type", length = 100)
+    private String imageContentType;
+
+    @Column(name = "has_image", nullable = false)
+    private Boolean hasImage = false;
+
+    @Column(name = "has_pdf", nullable = false)
+    private Boolean hasPdf = false;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SubmissionStatus status = SubmissionStatus.PENDING;
+
+    // Bail du worker qui traite la soumission (repris par un autre après expiration)
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructeurs
+    public ProjectSubmission() {}
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters et Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getRequestJson() { return requestJson; }
+    public void setRequestJson(String requestJson) { this.requestJson = requestJson; }
+
+    public String getImageName() { return imageName; }
+    public void setImageName(String imageName) { this.imageName = imageName; }
+
+    public String getImageContentType() { return imageContentType; }
+    public void setImageContentType(String imageContentType) { this.imageContentType = imageContentType; }
+
+    public Boolean getHasImage() { return hasImage; }
+    public void setHasImage(Boolean hasImage) { this.hasImage = hasImage; }
+
+    public Boolean getHasPdf() { return hasPdf; }
+    public void setHasPdf(Boolean hasPdf) { this.hasPdf = hasPdf; }
+
+    public SubmissionStatus getStatus() { return status; }
+    public void setStatus(SubmissionStatus status) { this.status = status; }
+
+    public LocalDateTime getLeaseUntil() { return leaseUntil; }
+    public void setLeaseUntil(LocalDateTime leaseUntil) { this.leaseUntil = leaseUntil; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
@@ -0,0 +1,64 @@
+package com.regioninvest.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fichier uploadé, adressé par son contenu (ab/cd/sha256.ext), partagé par tous les
+ * projets qui le référencent. Sans référence depuis le délai de grâce, il est supprimé.
+ */
+@Entity
+@Table(name = "stored_files", indexes = {
+        @Index(name = "ix_stored_files_released", columnList = "ref_count, released_at")
+})
+public class StoredFile {
+
+    @Id
+    @Column(length = 100)
+    private String path;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount = 0;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Date à laquelle le compteur est tombé à 0 (null tant que le fichier est référencé)
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+
+    // Constructeurs
+    public StoredFile() {}
+
+    public StoredFile(String path, Long size) {
+        this.path = path;
+        this.size = size;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (refCount == 0 && releasedAt == null) {
+            releasedAt = createdAt;
+        }
+    }
+
+    // Getters et Setters
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public Long getSize() { return size; }
+    public void setSize(Long size) { this.size = size; }
+
+    public Integer getRefCount() { return refCount; }
+    public void setRefCount(Integer refCount) { this.refCount = refCount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getReleasedAt() { return releasedAt; }
+    public void setReleasedAt(LocalDateTime releasedAt) { this.releasedAt = releasedAt; }
+}
@@ -0,0 +1,5 @@
+package com.regioninvest.entity;
+
+public enum SubmissionStatus {
+    PENDING, PROCESSING, COMPLETED, FAILED
+}
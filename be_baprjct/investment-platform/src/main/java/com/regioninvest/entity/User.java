@@ -45,12 +45,6 @@ public class User implements UserDetails {
     @Column(name = "is_enabled")
     private Boolean isEnabled = true;
 
-    @Column(name = "reset_token")
-    private String resetToken;
-
-    @Column(name = "reset_token_expiry")
-    private LocalDateTime resetTokenExpiry;
-
     // Constructors
     public User() {}
 
@@ -98,12 +92,6 @@ public class User implements UserDetails {
     public Boolean getIsEnabled() { return isEnabled; }
     public void setIsEnabled(Boolean isEnabled) { this.isEnabled = isEnabled; }
 
-    public String getResetToken() { return resetToken; }
-    public void setResetToken(String resetToken) { this.resetToken = resetToken; }
-
-    public LocalDateTime getResetTokenExpiry() { return resetTokenExpiry; }
-    public void setResetTokenExpiry(LocalDateTime resetTokenExpiry) { this.resetTokenExpiry = resetTokenExpiry; }
-
     // UserDetails implementation
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
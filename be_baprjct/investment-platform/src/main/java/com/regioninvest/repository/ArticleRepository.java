@@ -0,0 +1,55 @@
+package com.regioninvest.repository;
+
+import com.regioninvest.entity.Article;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArticleRepository extends JpaRepository<Article, Long> {
+
+    // Hashes déjà présents parmi ceux fournis (dédoublonnage à l'ingestion)
+    @Query("SELECT a.sourceUrlHash FROM Article a WHERE a.sourceUrlHash IN :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+
+    // Articles actifs, les plus récents d'abord, secteur chargé dans la même requête
+    @Query(value = "SELECT a FROM Article a JOIN FETCH a.sector WHERE a.isActive = true ORDER BY a.publishedAt DESC, a.id DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.isActive = true")
+    Page<Article> findActiveWithSector(Pageable pageable);
+
+    // Articles actifs après un curseur (publishedAt, id), dans le même ordre (pagination par curseur)
+    @Query("SELECT a FROM Article a JOIN FETCH a.sector WHERE a.isActive = true"
+            + " AND (a.publishedAt < :publishedAt OR (a.publishedAt = :publishedAt AND a.id < :id))"
+            + " ORDER BY a.publishedAt DESC, a.id DESC")
+    List<Article> findActiveAfter(@Param("publishedAt") LocalDateTime publishedAt, @Param("id") Long id,
+                                  Pageable pageable);
+
+    // Articles canoniques récents pour l'index de quasi-doublons: id, titre, image, taille du contenu, date
+    @Query("SELECT a.id, a.title, a.imageUrl, LENGTH(a.content), a.publishedAt FROM Article a " +
+            "WHERE a.isActive = true AND a.publishedAt >= :since")
+    List<Object[]> findActiveForDedup(@Param("since") LocalDateTime since);
+
+    // Sources alternatives des articles donnés: id canonique, nom et lien de la source
+    @Query("SELECT a.duplicateOf, a.sourceName, a.sourceUrl FROM Article a WHERE a.duplicateOf IN :ids ORDER BY a.id")
+    List<Object[]> findDuplicateSourcesOf(@Param("ids") Collection<Long> ids);
+
+    // Un article devient le doublon d'une meilleure copie
+    @Modifying
+    @Query("UPDATE Article a SET a.isActive = false, a.duplicateOf = :canonicalId WHERE a.id = :id")
+    int markDuplicate(@Param("id") Long id, @Param("canonicalId") Long canonicalId);
+
+    // Ses propres doublons suivent la nouvelle copie canonique
+    @Modifying
+    @Query("UPDATE Article a SET a.duplicateOf = :canonicalId WHERE a.duplicateOf = :oldId")
+    int reassignDuplicates(@Param("oldId") Long oldId, @Param("canonicalId") Long canonicalId);
+
+    long countByIsActiveTrue();
+}
@@ -0,0 +1,26 @@
+package com.regioninvest.repository;
+
+import com.regioninvest.entity.ChunkedUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ChunkedUploadRepository extends JpaRepository<ChunkedUpload, String> {
+
+    // Dernière activité (morceau reçu), sans charger l'entité
+    @Modifying
+    @Transactional
+    @Query("UPDATE ChunkedUpload u SET u.updatedAt = :now WHERE u.id = :id")
+    int touch(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    // Uploads abandonnés (aucun morceau reçu depuis la date limite)
+    @Query("SELECT u.id FROM ChunkedUpload u WHERE u.updatedAt < :cutoff")
+    List<String> findIdsUpdatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,33 @@
+package com.regioninvest.repository;
+
+import com.regioninvest.entity.EmailStatus;
+import com.regioninvest.entity.OutboxEmail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    // Emails dus, les plus anciens d'abord (index status + next_attempt_at)
+    @Query("SELECT m FROM OutboxEmail m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt")
+    List<OutboxEmail> findDue(@Param("status") EmailStatus status,
+                              @Param("now") LocalDateTime now,
+                              Pageable pageable);
+
+    // Réserver un email (bail): échoue si un autre dispatcher l'a déjà pris
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEmail m SET m.nextAttemptAt = :leaseUntil " +
+            "WHERE m.id = :id AND m.status = com.regioninvest.entity.EmailStatus.PENDING AND m.nextAttemptAt = :expected")
+    int claim(@Param("id") Long id,
+              @Param("expected") LocalDateTime expected,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+}
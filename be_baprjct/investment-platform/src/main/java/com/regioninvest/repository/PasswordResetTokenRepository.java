@@ -0,0 +1,35 @@
+package com.regioninvest.repository;
+
+import com.regioninvest.entity.PasswordResetToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+
+    // Recherche via l'index unique sur token_hash, utilisateur chargé dans la même requête
+    @Query("SELECT t FROM PasswordResetToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<PasswordResetToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+    // Consommation atomique: une seule requête concurrente peut supprimer la ligne
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.id = :id AND t.expiresAt > :now")
+    int consumeIfValid(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Invalider les anciens tokens d'un utilisateur
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Ids des tokens expirés, par lots (pour le nettoyage planifié)
+    @Query("SELECT t.id FROM PasswordResetToken t WHERE t.expiresAt <= :now")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.regioninvest.repository;
+
+import com.regioninvest.entity.PdfText;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface PdfTextRepository extends JpaRepository<PdfText, String> {
+
+    // Textes qu'aucun projet n'utilise plus (extraits avant la date limite)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PdfText t WHERE t.extractedAt < :cutoff AND NOT EXISTS " +
+            "(SELECT p.id FROM Project p WHERE p.pdfTextHash = t.sha256)")
+    int deleteUnusedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
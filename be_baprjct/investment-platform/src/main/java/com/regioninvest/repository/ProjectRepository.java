@@ -2,33 +2,53 @@ package com.regioninvest.repository;
 
 import com.regioninvest.entity.Project;
 import com.regioninvest.entity.ProjectStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
-    // Recherche de base par statut
-    Page<Project> findByStatus(ProjectStatus status, Pageable pageable);
-
-    // Recherche avec filtres multiples
-    @Query("SELECT p FROM Project p WHERE " +
-            "(:status IS NULL OR p.status = :status) AND " +
+    // Filtres du catalogue (PdfText t: texte normalisé en minuscules du PDF du projet)
+    String PROJECT_FILTERS = "(:status IS NULL OR p.status = :status) AND " +
             "(:searchTerm IS NULL OR :searchTerm = '' OR " +
             " LOWER(p.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            " LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
+            " LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            " t.content LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
             "(:province IS NULL OR :province = '' OR p.province = :province) AND " +
             "(:sectorName IS NULL OR :sectorName = '' OR p.sector.name LIKE %:sectorName%) AND " +
             "(:minBudget IS NULL OR p.budget >= :minBudget) AND " +
-            "(:maxBudget IS NULL OR p.budget <= :maxBudget)")
+            "(:maxBudget IS NULL OR p.budget <= :maxBudget) ";
+
+    String KEYWORD_MATCH = "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            " LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            " LOWER(p.location) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            " t.content LIKE LOWER(CONCAT('%', :keyword, '%'))) ";
+
+    // Recherche de base par statut
+    Page<Project> findByStatus(ProjectStatus status, Pageable pageable);
+
+    // Recherche avec filtres multiples; le texte du PDF compte moins que le titre et la description
+    // (projets trouvés seulement par leur PDF classés après les autres)
+    @Query(value = "SELECT p FROM Project p LEFT JOIN PdfText t ON t.sha256 = p.pdfTextHash WHERE " + PROJECT_FILTERS +
+            "ORDER BY CASE WHEN :searchTerm IS NULL OR :searchTerm = '' " +
+            " OR LOWER(p.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+            " OR LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) THEN 0 ELSE 1 END",
+            countQuery = "SELECT COUNT(p) FROM Project p LEFT JOIN PdfText t ON t.sha256 = p.pdfTextHash WHERE " + PROJECT_FILTERS)
     Page<Project> findProjectsWithFilters(
             @Param("status") ProjectStatus status,
             @Param("searchTerm") String searchTerm,
@@ -56,6 +76,57 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Projets par utilisateur (porteur)
     Page<Project> findByPorteurIdAndStatus(Long porteurId, ProjectStatus status, Pageable pageable);
 
+    // Propriétaire d'un projet, sans charger l'entité (contrôles d'autorisation)
+    @Query("SELECT p.porteur.id FROM Project p WHERE p.id = :id")
+    Optional<Long> findPorteurIdById(@Param("id") Long id);
+
+    // Fichier PDF et titre d'un projet, sans charger l'entité (téléchargement)
+    @Query("SELECT p.pdfUrl, p.title FROM Project p WHERE p.id = :id")
+    List<Object[]> findPdfById(@Param("id") Long id);
+
+    // Variantes d'image générées en arrière-plan, seulement si l'image n'a pas changé entre-temps
+    @Modifying
+    @Transactional
+    @Query("UPDATE Project p SET p.imageCatalogUrl = :catalog, p.imageDetailUrl = :detail, p.imageThumbUrl = :thumb, " +
+            "p.imagePreview = :preview WHERE p.id = :id AND p.imageUrl = :imageUrl")
+    int updateImageVariants(@Param("id") Long id,
+                            @Param("imageUrl") String imageUrl,
+                            @Param("catalog") String catalog,
+                            @Param("detail") String detail,
+                            @Param("thumb") String thumb,
+                            @Param("preview") String preview);
+
+    // Variantes déjà générées pour la même image (fichier partagé par plusieurs projets)
+    @Query("SELECT p.imageCatalogUrl, p.imageDetailUrl, p.imageThumbUrl, p.imagePreview FROM Project p " +
+            "WHERE p.imageUrl = :imageUrl AND p.imageCatalogUrl IS NOT NULL AND p.imagePreview IS NOT NULL")
+    List<Object[]> findImageVariantsByImageUrl(@Param("imageUrl") String imageUrl);
+
+    // Texte du PDF extrait, si le projet a toujours ce PDF
+    @Transactional
+    @Modifying
+    @Query("UPDATE Project p SET p.pdfTextHash = :hash WHERE p.id = :id AND p.pdfUrl = :pdfUrl")
+    int updatePdfTextHash(@Param("id") Long id, @Param("pdfUrl") String pdfUrl, @Param("hash") String hash);
+
+    // Projets dont le texte du PDF n'a pas encore été extrait (rattrapage au démarrage)
+    @Query("SELECT p.id, p.pdfUrl FROM Project p WHERE p.pdfUrl IS NOT NULL AND p.pdfTextHash IS NULL")
+    List<Object[]> findPdfsWithoutText();
+
+    // Projets dont l'image n'a pas encore de variantes ou d'aperçu (rattrapage au démarrage)
+    @Query("SELECT p.id, p.imageUrl FROM Project p WHERE p.imageUrl IS NOT NULL AND " +
+            "(p.imageCatalogUrl IS NULL OR p.imagePreview IS NULL)")
+    List<Object[]> findImagesWithoutVariants();
+
+    // Tous les fichiers référencés par les projets, lus en flux (ramasse-miettes des uploads)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.imageUrl, p.imageCatalogUrl, p.imageDetailUrl, p.imageThumbUrl, p.pdfUrl FROM Project p")
+    Stream<Object[]> streamFileReferences();
+
+    // Fichiers de la liste encore référencés par un projet (vérification avant suppression)
+    @Query("SELECT p.imageUrl, p.imageCatalogUrl, p.imageDetailUrl, p.imageThumbUrl, p.pdfUrl FROM Project p " +
+            "WHERE p.imageUrl IN :paths OR p.imageCatalogUrl IN :paths OR p.imageDetailUrl IN :paths " +
+            "OR p.imageThumbUrl IN :paths OR p.pdfUrl IN :paths")
+    List<Object[]> findFileReferencesIn(@Param("paths") Collection<String> paths);
+
     // Recherche par ID avec porteur
     @Query("SELECT p FROM Project p LEFT JOIN FETCH p.porteur LEFT JOIN FETCH p.sector WHERE p.id = :id")
     Optional<Project> findByIdWithDetails(@Param("id") Long id);
@@ -76,11 +147,14 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Compter projets par porteur
     long countByPorteurIdAndStatus(Long porteurId, ProjectStatus status);
 
-    // Recherche full-text dans titre et description
-    @Query("SELECT p FROM Project p WHERE p.status = :status AND " +
-            "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            " LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            " LOWER(p.location) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    // Recherche full-text pondérée: titre, puis description / lieu, puis texte du PDF
+    @Query(value = "SELECT p FROM Project p LEFT JOIN PdfText t ON t.sha256 = p.pdfTextHash " +
+            "WHERE p.status = :status AND " + KEYWORD_MATCH +
+            "ORDER BY CASE WHEN LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) THEN 0 " +
+            " WHEN LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "  OR LOWER(p.location) LIKE LOWER(CONCAT('%', :keyword, '%')) THEN 1 ELSE 2 END",
+            countQuery = "SELECT COUNT(p) FROM Project p LEFT JOIN PdfText t ON t.sha256 = p.pdfTextHash " +
+                    "WHERE p.status = :status AND " + KEYWORD_MATCH)
     Page<Project> searchByKeyword(@Param("keyword") String keyword,
                                   @Param("status") ProjectStatus status,
                                   Pageable pageable);
@@ -0,0 +1,71 @@
+package com.regioninvest.repository;
+
+import com.regioninvest.entity.ProjectSubmission;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProjectSubmissionRepository extends JpaRepository<ProjectSubmission, String> {
+
+    // Soumissions à traiter: en attente, ou dont le worker a perdu son bail (arrêt du serveur)
+    @Query("SELECT s.id FROM ProjectSubmission s " +
+            "WHERE s.status = com.regioninvest.entity.SubmissionStatus.PENDING " +
+            "OR (s.status = com.regioninvest.entity.SubmissionStatus.PROCESSING AND s.leaseUntil < :now) " +
+            "ORDER BY s.createdAt")
+    List<String> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Réserver une soumission (bail): échoue si un autre worker la traite déjà
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectSubmission s SET s.status = com.regioninvest.entity.SubmissionStatus.PROCESSING, " +
+            "s.leaseUntil = :leaseUntil WHERE s.id = :id " +
+            "AND (s.status = com.regioninvest.entity.SubmissionStatus.PENDING " +
+            "OR (s.status = com.regioninvest.entity.SubmissionStatus.PROCESSING AND s.leaseUntil < :now))")
+    int claim(@Param("id") String id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Terminer (dans la transaction qui crée le projet), seulement par le détenteur du bail
+    @Modifying
+    @Query("UPDATE ProjectSubmission s SET s.status = com.regioninvest.entity.SubmissionStatus.COMPLETED, " +
+            "s.projectId = :projectId, s.completedAt = :now, s.leaseUntil = NULL " +
+            "WHERE s.id = :id AND s.status = com.regioninvest.entity.SubmissionStatus.PROCESSING AND s.leaseUntil = :lease")
+    int complete(@Param("id") String id, @Param("lease") LocalDateTime lease,
+                 @Param("projectId") Long projectId, @Param("now") LocalDateTime now);
+
+    // Échec, enregistré seulement par le détenteur du bail
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectSubmission s SET s.status = com.regioninvest.entity.SubmissionStatus.FAILED, " +
+            "s.error = :error, s.completedAt = :now, s.leaseUntil = NULL " +
+            "WHERE s.id = :id AND s.status = com.regioninvest.entity.SubmissionStatus.PROCESSING AND s.leaseUntil = :lease")
+    int fail(@Param("id") String id, @Param("lease") LocalDateTime lease,
+             @Param("error") String error, @Param("now") LocalDateTime now);
+
+    // Abandonner une soumission jamais terminée (aucun worker ne la tient)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectSubmission s SET s.status = com.regioninvest.entity.SubmissionStatus.FAILED, " +
+            "s.error = 'Soumission expirée', s.completedAt = :now, s.leaseUntil = NULL " +
+            "WHERE s.id = :id AND (s.status = com.regioninvest.entity.SubmissionStatus.PENDING " +
+            "OR (s.status = com.regioninvest.entity.SubmissionStatus.PROCESSING AND s.leaseUntil < :now))")
+    int expire(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    // Soumissions jamais terminées (fichiers absents de ce serveur, erreurs répétées)
+    @Query("SELECT s.id FROM ProjectSubmission s WHERE s.status IN " +
+            "(com.regioninvest.entity.SubmissionStatus.PENDING, com.regioninvest.entity.SubmissionStatus.PROCESSING) " +
+            "AND s.createdAt < :cutoff")
+    List<String> findUnfinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Historique des soumissions terminées
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProjectSubmission s WHERE s.completedAt < :cutoff")
+    int deleteCompletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,51 @@
+package com.regioninvest.repository;
+
+import com.regioninvest.entity.StoredFile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    // Ajouter une référence (verrouille la ligne jusqu'au commit)
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount + 1, f.releasedAt = NULL WHERE f.path = :path")
+    int retain(@Param("path") String path);
+
+    // Retirer une référence; la date de libération est posée quand le compteur tombe à 0
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount - 1, " +
+            "f.releasedAt = CASE WHEN f.refCount = 1 THEN :now ELSE f.releasedAt END " +
+            "WHERE f.path = :path AND f.refCount > 0")
+    int release(@Param("path") String path, @Param("now") LocalDateTime now);
+
+    // Fichiers sans référence depuis avant la date limite
+    @Query("SELECT f.path FROM StoredFile f WHERE f.refCount = 0 AND f.releasedAt < :cutoff ORDER BY f.releasedAt")
+    List<String> findReleasedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Tous les fichiers comptés, lus en flux (ramasse-miettes des uploads)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT f.path FROM StoredFile f")
+    Stream<String> streamPaths();
+
+    // Fichiers de la liste qui ont une ligne (vérification avant suppression)
+    @Query("SELECT f.path FROM StoredFile f WHERE f.path IN :paths")
+    List<String> findPathsIn(@Param("paths") Collection<String> paths);
+
+    // Supprimer la ligne seulement si elle est toujours sans référence
+    @Modifying
+    @Query("DELETE FROM StoredFile f WHERE f.path = :path AND f.refCount = 0")
+    int deleteIfUnreferenced(@Param("path") String path);
+}
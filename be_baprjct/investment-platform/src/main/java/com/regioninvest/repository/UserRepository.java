@@ -2,6 +2,8 @@ package com.regioninvest.repository;
 
 import com.regioninvest.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,9 +15,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    // User + role in a single query (login path)
+    @Query("SELECT u FROM User u JOIN FETCH u.role WHERE u.email = :email")
+    Optional<User> findByEmailWithRole(@Param("email") String email);
+
+    // User + role in a single query (user cache)
+    @Query("SELECT u FROM User u JOIN FETCH u.role WHERE u.username = :username")
+    Optional<User> findByUsernameWithRole(@Param("username") String username);
+
     Boolean existsByUsername(String username);
 
     Boolean existsByEmail(String email);
-
-    Optional<User> findByResetToken(String resetToken);
 }
@@ -0,0 +1,34 @@
+package com.regioninvest.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🌍 AllAfrica Morocco RDF feed - REAL articles
+ */
+@Component
+public class AllAfricaArticleSource extends RssArticleSource {
+
+    @Value("${app.articles.allafrica.url:https://allafrica.com/tools/headlines/rdf/morocco/headlines.rdf}")
+    private String feedUrl;
+
+    @Override
+    public String getName() {
+        return "allafrica";
+    }
+
+    @Override
+    protected String getFeedUrl() {
+        return feedUrl;
+    }
+
+    @Override
+    protected String getSourceName() {
+        return "AllAfrica";
+    }
+
+    @Override
+    protected String getReadingTime() {
+        return "4 min";
+    }
+}
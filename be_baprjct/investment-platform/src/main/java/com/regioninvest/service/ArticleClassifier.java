@@ -0,0 +1,316 @@
+package com.regioninvest.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 🏷️ Keyword based classification of articles: investment relevance, sector and tags.
+ *
+ * The keyword dictionary (app.articles.keywords) is compiled once into an
+ * Aho-Corasick automaton; an article is then classified in a single pass over its
+ * text, whatever the number of keywords.
+ */
+@Component
+public class ArticleClassifier {
+
+    private static final String DEFAULT_SECTOR = "Économie générale";
+    private static final String ALWAYS_TAG = "maroc";
+    private static final String FALLBACK_TAG = "actualité";
+
+    @Value("${app.articles.keywords:classpath:article-keywords.txt}")
+    private Resource keywordsResource;
+
+    private volatile Automaton automaton;
+
+    @PostConstruct
+    public void loadDictionary() throws IOException {
+        Dictionary dictionary = new Dictionary();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(keywordsResource.getInputStream(), StandardCharsets.UTF_8))) {
+            dictionary.read(reader);
+        }
+        automaton = new Automaton(dictionary);
+        System.out.println("🏷️ Article classifier: " + dictionary.keywords.size() + " keywords, "
+                + dictionary.sectors.size() + " sectors, " + dictionary.tags.size() + " tags");
+    }
+
+    /**
+     * 🎯 Relevance, sector and tags of an article in one pass over title + description
+     */
+    public Classification classify(String title, String description) {
+        return automaton.classify(title, description);
+    }
+
+    /**
+     * Result of {@link #classify}
+     */
+    public static final class Classification {
+        private final boolean relevant;
+        private final String sector;
+        private final List<String> tags;
+
+        private Classification(boolean relevant, String sector, List<String> tags) {
+            this.relevant = relevant;
+            this.sector = sector;
+            this.tags = tags;
+        }
+
+        /**
+         * Does the article mention investment keywords?
+         */
+        public boolean isRelevant() { return relevant; }
+        public String getSector() { return sector; }
+        public List<String> getTags() { return tags; }
+    }
+
+    /**
+     * Parsed dictionary: every keyword with the labels it contributes
+     */
+    private static final class Dictionary {
+        private final List<String> sectors = new ArrayList<>();
+        private final List<String> tags = new ArrayList<>();
+        private final Map<String, Labels> keywords = new LinkedHashMap<>();
+
+        private void read(BufferedReader reader) throws IOException {
+            String section = null;
+            int sectionIndex = -1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    String header = line.substring(1, line.length() - 1).trim();
+                    if (header.equals("relevance")) {
+                        section = "relevance";
+                    } else if (header.startsWith("sector ")) {
+                        section = "sector";
+                        sectionIndex = indexOf(sectors, header.substring(7).trim());
+                    } else if (header.startsWith("tag ")) {
+                        section = "tag";
+                        sectionIndex = indexOf(tags, header.substring(4).trim());
+                    } else {
+                        throw new IllegalStateException("Unknown keyword section: " + line);
+                    }
+                    continue;
+                }
+                if (section == null) {
+                    throw new IllegalStateException("Keyword outside of a section: " + line);
+                }
+
+                Labels labels = keywords.computeIfAbsent(line.toLowerCase(Locale.ROOT), k -> new Labels());
+                switch (section) {
+                    case "relevance":
+                        labels.relevant = true;
+                        break;
+                    case "sector":
+                        labels.sector = Math.min(labels.sector, sectionIndex);
+                        break;
+                    default:
+                        labels.tags.add(sectionIndex);
+                        break;
+                }
+            }
+        }
+
+        private static int indexOf(List<String> names, String name) {
+            int index = names.indexOf(name);
+            if (index < 0) {
+                names.add(name);
+                index = names.size() - 1;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Labels of a keyword, or of an automaton state (merged over its suffixes)
+     */
+    private static final class Labels {
+        private boolean relevant;
+        private int sector = Integer.MAX_VALUE; // lowest index = highest priority
+        private final Set<Integer> tags = new LinkedHashSet<>();
+
+        private void merge(Labels other) {
+            relevant |= other.relevant;
+            sector = Math.min(sector, other.sector);
+            tags.addAll(other.tags);
+        }
+    }
+
+    /**
+     * Aho-Corasick automaton over lower-cased chars. Transitions are sorted char
+     * arrays (binary search), outputs are pre-merged along failure links so each
+     * step costs O(log fan-out) plus the tags it emits.
+     */
+    private static final class Automaton {
+        private final List<String> sectorNames;
+        private final List<String> tagNames;
+
+        private final char[][] keys;
+        private final int[][] targets;
+        private final int[] fail;
+        private final boolean[] relevant;
+        private final int[] sector;
+        private final int[][] tags;
+
+        private Automaton(Dictionary dictionary) {
+            this.sectorNames = List.copyOf(dictionary.sectors);
+            this.tagNames = List.copyOf(dictionary.tags);
+
+            // 1. Trie
+            List<TreeMap<Character, Integer>> children = new ArrayList<>();
+            List<Labels> labels = new ArrayList<>();
+            children.add(new TreeMap<>());
+            labels.add(new Labels());
+
+            for (Map.Entry<String, Labels> entry : dictionary.keywords.entrySet()) {
+                int state = 0;
+                for (char c : entry.getKey().toCharArray()) {
+                    Integer next = children.get(state).get(c);
+                    if (next == null) {
+                        next = children.size();
+                        children.add(new TreeMap<>());
+                        labels.add(new Labels());
+                        children.get(state).put(c, next);
+                    }
+                    state = next;
+                }
+                labels.get(state).merge(entry.getValue());
+            }
+
+            int size = children.size();
+            keys = new char[size][];
+            targets = new int[size][];
+            for (int state = 0; state < size; state++) {
+                TreeMap<Character, Integer> edges = children.get(state);
+                keys[state] = new char[edges.size()];
+                targets[state] = new int[edges.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                    keys[state][i] = edge.getKey();
+                    targets[state][i] = edge.getValue();
+                    i++;
+                }
+            }
+
+            // 2. Failure links (BFS), merging the labels of each state's longest proper suffix
+            fail = new int[size];
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int child : targets[0]) {
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                labels.get(state).merge(labels.get(fail[state]));
+                for (int i = 0; i < keys[state].length; i++) {
+                    int child = targets[state][i];
+                    int f = fail[state];
+                    int next;
+                    while ((next = transition(f, keys[state][i])) < 0 && f != 0) {
+                        f = fail[f];
+                    }
+                    fail[child] = next >= 0 && next != child ? next : 0;
+                    queue.add(child);
+                }
+            }
+
+            // 3. Flatten labels
+            relevant = new boolean[size];
+            sector = new int[size];
+            tags = new int[size][];
+            for (int state = 0; state < size; state++) {
+                Labels l = labels.get(state);
+                relevant[state] = l.relevant;
+                sector[state] = l.sector;
+                tags[state] = l.tags.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+
+        private int transition(int state, char c) {
+            int i = Arrays.binarySearch(keys[state], c);
+            return i >= 0 ? targets[state][i] : -1;
+        }
+
+        private Classification classify(String title, String description) {
+            Scan scan = new Scan(tagNames.size());
+            int state = scan(title, 0, scan);
+            state = step(state, ' ', scan);
+            scan(description, state, scan);
+
+            List<String> articleTags = new ArrayList<>();
+            for (int i = 0; i < scan.tags.length; i++) {
+                if (scan.tags[i]) {
+                    articleTags.add(tagNames.get(i));
+                }
+            }
+            articleTags.add(ALWAYS_TAG);
+            if (articleTags.size() == 1) {
+                articleTags.add(FALLBACK_TAG);
+            }
+
+            String sectorName = scan.sector < sectorNames.size() ? sectorNames.get(scan.sector) : DEFAULT_SECTOR;
+            return new Classification(scan.relevant, sectorName, Collections.unmodifiableList(articleTags));
+        }
+
+        private int scan(String text, int state, Scan scan) {
+            if (text == null) {
+                return state;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                state = step(state, Character.toLowerCase(text.charAt(i)), scan);
+            }
+            return state;
+        }
+
+        private int step(int state, char c, Scan scan) {
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = next >= 0 ? next : 0;
+
+            scan.relevant |= relevant[state];
+            if (sector[state] < scan.sector) {
+                scan.sector = sector[state];
+            }
+            for (int tag : tags[state]) {
+                scan.tags[tag] = true;
+            }
+            return state;
+        }
+    }
+
+    /**
+     * Accumulator of one classification pass
+     */
+    private static final class Scan {
+        private boolean relevant;
+        private int sector = Integer.MAX_VALUE;
+        private final boolean[] tags;
+
+        private Scan(int tagCount) {
+            this.tags = new boolean[tagCount];
+        }
+    }
+}
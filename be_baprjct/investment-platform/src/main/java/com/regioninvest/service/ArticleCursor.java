@@ -0,0 +1,75 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.ArticleDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 🔖 Opaque pagination cursor: position (publishedAt, id) of the last article of a page.
+ *
+ * Articles are ordered by publishedAt then id, both descending, so the next page
+ * starts at the first article strictly after the cursor in that order; new
+ * articles arriving in between do not shift the following pages.
+ */
+final class ArticleCursor {
+
+    // Ordre des snapshots et de ArticleRepository.findActiveWithSector
+    static final Comparator<ArticleDTO> ORDER = Comparator
+            .comparing(ArticleDTO::getPublishedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(ArticleDTO::getId, Comparator.nullsFirst(Comparator.<Long>naturalOrder()))
+            .reversed();
+
+    private final LocalDateTime publishedAt;
+    private final Long id;
+
+    private ArticleCursor(LocalDateTime publishedAt, Long id) {
+        this.publishedAt = publishedAt;
+        this.id = id;
+    }
+
+    static String encode(ArticleDTO article) {
+        String value = article.getPublishedAt() + "|" + article.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode}
+     */
+    static ArticleCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            String date = value.substring(0, separator);
+            return new ArticleCursor("null".equals(date) ? null : LocalDateTime.parse(date),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+    }
+
+    /**
+     * Index of the first article after this cursor in a list sorted with {@link #ORDER}
+     */
+    int positionIn(List<ArticleDTO> articles) {
+        ArticleDTO key = ArticleDTO.builder().publishedAt(publishedAt).id(id).build();
+        int low = 0;
+        int high = articles.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ORDER.compare(articles.get(mid), key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    LocalDateTime getPublishedAt() { return publishedAt; }
+    Long getId() { return id; }
+}
@@ -0,0 +1,304 @@
+package com.regioninvest.service;
+
+import com.regioninvest.repository.ArticleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 🧬 Near-duplicate detection of articles across sources (MinHash + LSH on titles).
+ *
+ * Each title is reduced to a set of normalized words and a MinHash signature;
+ * the signature is cut into bands and articles sharing a band are candidates,
+ * confirmed by the Jaccard similarity of their word sets. A lookup only touches
+ * the articles of its buckets, not the whole history.
+ *
+ * The index holds the canonical articles published (or ingested) within the
+ * window; it is loaded from the database on first use and kept up to date by
+ * ingestion.
+ */
+@Component
+public class ArticleDeduplicator {
+
+    private static final int BANDS = 16;
+    private static final int ROWS = 2;
+
+    // Titles with fewer words are too short to be compared reliably
+    private static final int MIN_WORDS = 3;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "with", "from", "that", "this", "has", "have", "will", "are", "its", "new",
+            "les", "des", "une", "aux", "pour", "par", "sur", "dans", "avec", "est", "qui", "que", "son", "ses",
+            "morocco", "moroccan", "maroc", "marocain", "marocaine");
+
+    private static final long[] SEEDS = new long[BANDS * ROWS];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SEEDS.length; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    // Similarité de Jaccard minimale entre les mots des titres
+    @Value("${app.articles.dedup.threshold:0.6}")
+    private double threshold;
+
+    // Seuls les articles publiés dans cette fenêtre sont comparés
+    @Value("${app.articles.dedup.window-days:7}")
+    private int windowDays;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+    private boolean loaded;
+    private LocalDateTime lastEviction = LocalDateTime.MIN;
+
+    /**
+     * 🧬 Fingerprint of a title, null when the title is too short to be compared
+     */
+    public Fingerprint fingerprint(String title) {
+        Set<String> words = words(title);
+        if (words.size() < MIN_WORDS) {
+            return null;
+        }
+        long[] signature = new long[SEEDS.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String word : words) {
+            long hash = word.hashCode();
+            for (int i = 0; i < SEEDS.length; i++) {
+                long value = mix(hash ^ SEEDS[i]);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        long[] bandKeys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key * 31 + signature[band * ROWS + row]);
+            }
+            bandKeys[band] = key;
+        }
+        return new Fingerprint(words, bandKeys);
+    }
+
+    /**
+     * Load the index from the database if needed; to call before new articles are saved,
+     * so that they are not loaded as their own duplicates
+     */
+    public synchronized void prepare() {
+        ensureLoaded();
+    }
+
+    /**
+     * Closest canonical article similar enough to the fingerprint, or null
+     */
+    public synchronized Match findDuplicate(Fingerprint fingerprint) {
+        ensureLoaded();
+        Match best = null;
+        Set<Long> seen = new HashSet<>();
+        for (long key : fingerprint.bandKeys) {
+            List<Long> bucket = buckets.get(key);
+            if (bucket == null) {
+                continue;
+            }
+            for (Long id : bucket) {
+                if (!seen.add(id)) {
+                    continue;
+                }
+                Entry entry = entries.get(id);
+                double similarity = jaccard(fingerprint.words, entry.fingerprint.words);
+                if (similarity >= threshold && (best == null || similarity > best.similarity)) {
+                    best = new Match(id, entry.quality, similarity);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Index a canonical article, compared with new ones for the window from now
+     */
+    public synchronized void add(Long id, Fingerprint fingerprint, long quality) {
+        ensureLoaded();
+        put(id, fingerprint, quality, LocalDateTime.now().plusDays(windowDays));
+    }
+
+    /**
+     * A better copy replaces the canonical article it duplicates
+     */
+    public synchronized void replace(Long oldId, Long newId, Fingerprint fingerprint, long quality) {
+        ensureLoaded();
+        remove(oldId);
+        put(newId, fingerprint, quality, LocalDateTime.now().plusDays(windowDays));
+    }
+
+    /**
+     * Forget the index (e.g. after a rolled back ingestion); reloaded on next use
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+        buckets.clear();
+        loaded = false;
+    }
+
+    /**
+     * Quality of a copy: one with an image wins, then the longest content
+     */
+    public static long quality(String imageUrl, int contentLength) {
+        return (imageUrl != null && !imageUrl.isBlank() ? 1L << 40 : 0) + contentLength;
+    }
+
+    private void ensureLoaded() {
+        LocalDateTime now = LocalDateTime.now();
+        if (loaded) {
+            // Expired entries are swept at most hourly, not on every lookup
+            if (lastEviction.plusHours(1).isBefore(now)) {
+                evictExpired(now);
+                lastEviction = now;
+            }
+            return;
+        }
+        LocalDateTime since = now.minusDays(windowDays);
+        for (Object[] row : articleRepository.findActiveForDedup(since)) {
+            Fingerprint fingerprint = fingerprint((String) row[1]);
+            if (fingerprint != null) {
+                long quality = quality((String) row[2], ((Number) row[3]).intValue());
+                put((Long) row[0], fingerprint, quality, ((LocalDateTime) row[4]).plusDays(windowDays));
+            }
+        }
+        loaded = true;
+        lastEviction = now;
+    }
+
+    private void evictExpired(LocalDateTime now) {
+        List<Long> expired = new ArrayList<>();
+        for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().expiresAt.isBefore(now)) {
+                expired.add(entry.getKey());
+            }
+        }
+        expired.forEach(this::remove);
+    }
+
+    private void put(Long id, Fingerprint fingerprint, long quality, LocalDateTime expiresAt) {
+        entries.put(id, new Entry(fingerprint, quality, expiresAt));
+        for (long key : fingerprint.bandKeys) {
+            buckets.computeIfAbsent(key, k -> new ArrayList<>(2)).add(id);
+        }
+    }
+
+    private void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (long key : entry.fingerprint.bandKeys) {
+            List<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    static Set<String> words(String title) {
+        Set<String> words = new LinkedHashSet<>();
+        if (title == null) {
+            return words;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(title, Normalizer.Form.NFD)).replaceAll("");
+        for (String word : NON_WORD.split(normalized.toLowerCase())) {
+            boolean number = !word.isEmpty() && Character.isDigit(word.charAt(0));
+            if ((word.length() >= 3 || number) && !STOP_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int common = 0;
+        for (String word : smaller) {
+            if (larger.contains(word)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Normalized title words and LSH band keys of an article
+     */
+    public static final class Fingerprint {
+        private final Set<String> words;
+        private final long[] bandKeys;
+
+        private Fingerprint(Set<String> words, long[] bandKeys) {
+            this.words = words;
+            this.bandKeys = bandKeys;
+        }
+    }
+
+    /**
+     * Canonical article found for a fingerprint
+     */
+    public static final class Match {
+        private final Long id;
+        private final long quality;
+        private final double similarity;
+
+        private Match(Long id, long quality, double similarity) {
+            this.id = id;
+            this.quality = quality;
+            this.similarity = similarity;
+        }
+
+        public Long getId() { return id; }
+        public long getQuality() { return quality; }
+        public double getSimilarity() { return similarity; }
+    }
+
+    private static final class Entry {
+        private final Fingerprint fingerprint;
+        private final long quality;
+        private final LocalDateTime expiresAt;
+
+        private Entry(Fingerprint fingerprint, long quality, LocalDateTime expiresAt) {
+            this.fingerprint = fingerprint;
+            this.quality = quality;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
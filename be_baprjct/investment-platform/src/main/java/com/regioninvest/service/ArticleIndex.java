@@ -0,0 +1,296 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.ArticleDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 🔎 Read-side index of one article snapshot, built once when the snapshot is created.
+ *
+ * Search uses a trigram index over the lower-cased title and content: the trigrams
+ * of the query narrow the candidates, which are then checked with contains(), so
+ * results are exactly those of a substring scan, in snapshot order (newest first).
+ * Sector buckets, featured articles, popular tags and statistics are precomputed.
+ */
+final class ArticleIndex {
+
+    private static final int GRAM = 3;
+    private static final int FEATURED_LIMIT = 5;
+    private static final int POPULAR_TAGS_LIMIT = 10;
+
+    private final List<ArticleDTO> articles;
+    private final Map<Long, ArticleDTO> byId;
+
+    private final String[] lowerTitles;
+    private final String[] lowerContents;
+    private final Map<String, int[]> postings;
+
+    // Secteur en minuscules -> articles de ce secteur
+    private final Map<String, SectorBucket> sectorBuckets;
+
+    private final List<String> sectors;
+    private final List<ArticleDTO> featured;
+    private final List<String> popularTags;
+    private final Map<String, Object> statistics;
+
+    ArticleIndex(List<ArticleDTO> articles) {
+        this.articles = articles;
+        int size = articles.size();
+
+        byId = new HashMap<>(size * 4 / 3 + 1);
+        lowerTitles = new String[size];
+        lowerContents = new String[size];
+        Map<String, Postings> grams = new HashMap<>();
+
+        Map<String, List<Integer>> positionsBySector = new TreeMap<>();
+        Set<String> sectorNames = new LinkedHashSet<>();
+        List<ArticleDTO> featuredArticles = new ArrayList<>();
+        Map<String, Long> tagCounts = new LinkedHashMap<>();
+        Set<String> sources = new LinkedHashSet<>();
+        long featuredCount = 0;
+        int totalViews = 0;
+
+        for (int i = 0; i < size; i++) {
+            ArticleDTO article = articles.get(i);
+            byId.put(article.getId(), article);
+
+            lowerTitles[i] = lower(article.getTitle());
+            lowerContents[i] = lower(article.getContent());
+            addGrams(grams, lowerTitles[i], i);
+            addGrams(grams, lowerContents[i], i);
+
+            String sector = article.getSector();
+            if (sector != null) {
+                sectorNames.add(sector);
+                String key = lower(sector);
+                positionsBySector.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+
+            if (article.isFeatured()) {
+                featuredCount++;
+                if (featuredArticles.size() < FEATURED_LIMIT) {
+                    featuredArticles.add(article);
+                }
+            }
+
+            if (article.getTags() != null) {
+                for (String tag : article.getTags()) {
+                    tagCounts.merge(tag, 1L, Long::sum);
+                }
+            }
+
+            totalViews += article.getViews() != null ? article.getViews() : 0;
+            sources.add(article.getSourceName());
+        }
+
+        postings = new HashMap<>(grams.size() * 4 / 3 + 1);
+        grams.forEach((gram, list) -> postings.put(gram, list.toArray()));
+
+        sectorBuckets = new TreeMap<>();
+        positionsBySector.forEach((key, positions) -> sectorBuckets.put(key, new SectorBucket(positions, articles)));
+
+        List<String> sortedSectors = new ArrayList<>(sectorNames);
+        Collections.sort(sortedSectors);
+        sectors = List.copyOf(sortedSectors);
+        featured = List.copyOf(featuredArticles);
+
+        // Most used first; ties keep first-seen order (newest articles first)
+        List<Map.Entry<String, Long>> tagEntries = new ArrayList<>(tagCounts.entrySet());
+        tagEntries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        List<String> topTags = new ArrayList<>();
+        for (int i = 0; i < Math.min(POPULAR_TAGS_LIMIT, tagEntries.size()); i++) {
+            topTags.add(tagEntries.get(i).getKey());
+        }
+        popularTags = List.copyOf(topTags);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalArticles", size);
+        stats.put("featuredArticles", featuredCount);
+        stats.put("totalViews", totalViews);
+        stats.put("sources", (long) sources.size());
+        statistics = Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * 🔍 Articles whose title or content contains the term (case-insensitive)
+     */
+    List<ArticleDTO> search(String term) {
+        if (term == null || term.isEmpty()) {
+            return articles;
+        }
+        String query = lower(term);
+
+        if (query.length() < GRAM) {
+            List<ArticleDTO> result = new ArrayList<>();
+            for (int i = 0; i < articles.size(); i++) {
+                if (matches(i, query)) {
+                    result.add(articles.get(i));
+                }
+            }
+            return result;
+        }
+
+        // Posting lists of the query trigrams, shortest first
+        Set<String> queryGrams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            queryGrams.add(query.substring(i, i + GRAM));
+        }
+        List<int[]> lists = new ArrayList<>(queryGrams.size());
+        for (String gram : queryGrams) {
+            int[] list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+
+        int[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+
+        List<ArticleDTO> result = new ArrayList<>(candidates.length);
+        for (int position : candidates) {
+            if (matches(position, query)) {
+                result.add(articles.get(position));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 🏷️ Articles whose sector contains the given name (case-insensitive)
+     */
+    List<ArticleDTO> bySector(String sector) {
+        if (sector == null || sector.isEmpty()) {
+            return articles;
+        }
+        String query = lower(sector);
+
+        List<SectorBucket> matching = new ArrayList<>();
+        for (Map.Entry<String, SectorBucket> entry : sectorBuckets.entrySet()) {
+            if (entry.getKey().contains(query)) {
+                matching.add(entry.getValue());
+            }
+        }
+        if (matching.isEmpty()) {
+            return List.of();
+        }
+        if (matching.size() == 1) {
+            return matching.get(0).articles;
+        }
+
+        // Several sectors match: merge their positions back into snapshot order
+        int total = 0;
+        for (SectorBucket bucket : matching) {
+            total += bucket.positions.length;
+        }
+        int[] merged = new int[total];
+        int offset = 0;
+        for (SectorBucket bucket : matching) {
+            System.arraycopy(bucket.positions, 0, merged, offset, bucket.positions.length);
+            offset += bucket.positions.length;
+        }
+        Arrays.sort(merged);
+
+        List<ArticleDTO> result = new ArrayList<>(total);
+        for (int position : merged) {
+            result.add(articles.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Article of this snapshot with the given id, or null
+     */
+    ArticleDTO get(Long id) {
+        return byId.get(id);
+    }
+
+    List<ArticleDTO> getFeatured() { return featured; }
+    List<String> getSectors() { return sectors; }
+    List<String> getPopularTags() { return popularTags; }
+    Map<String, Object> getStatistics() { return statistics; }
+
+    private boolean matches(int position, String query) {
+        return lowerTitles[position].contains(query) || lowerContents[position].contains(query);
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static void addGrams(Map<String, Postings> grams, String text, int position) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.computeIfAbsent(text.substring(i, i + GRAM), k -> new Postings()).add(position);
+        }
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Articles of one sector, with their positions in the snapshot
+     */
+    private static final class SectorBucket {
+        private final int[] positions;
+        private final List<ArticleDTO> articles;
+
+        private SectorBucket(List<Integer> positions, List<ArticleDTO> snapshotArticles) {
+            this.positions = positions.stream().mapToInt(Integer::intValue).toArray();
+            List<ArticleDTO> bucket = new ArrayList<>(this.positions.length);
+            for (int position : this.positions) {
+                bucket.add(snapshotArticles.get(position));
+            }
+            this.articles = List.copyOf(bucket);
+        }
+    }
+
+    /**
+     * Growable sorted list of article positions, without duplicates
+     */
+    private static final class Postings {
+        private int[] positions = new int[4];
+        private int size;
+
+        private void add(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.ArticleDTO;
+import com.regioninvest.entity.Article;
+import com.regioninvest.entity.Sector;
+import com.regioninvest.repository.ArticleRepository;
+import com.regioninvest.repository.SectorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 💾 Persists fetched articles into the articles table.
+ *
+ * Articles are keyed by the SHA-256 of their sourceUrl: only URLs never seen
+ * before are inserted (in JDBC batches), so history grows across refreshes and
+ * restarts without duplicates. Near-duplicates (same story, another source) are
+ * stored inactive and attached to the best copy as alternate sources.
+ */
+@Service
+public class ArticleIngestionService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    // Limite de paramètres par requête IN
+    private static final int IN_LIST_CHUNK = 500;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private SectorRepository sectorRepository;
+
+    @Autowired
+    private ArticleDeduplicator articleDeduplicator;
+
+    /**
+     * Insert the articles whose sourceUrl is not stored yet
+     *
+     * @return number of inserted articles
+     */
+    @Transactional
+    public int ingest(List<ArticleDTO> articles) {
+        // Dédoublonner dans le lot lui-même (même URL publiée par deux sources)
+        Map<String, ArticleDTO> byHash = new LinkedHashMap<>();
+        for (ArticleDTO dto : articles) {
+            if (dto.getSourceUrl() != null && !dto.getSourceUrl().isBlank()) {
+                byHash.putIfAbsent(hashSourceUrl(dto.getSourceUrl()), dto);
+            }
+        }
+        if (byHash.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> existing = new HashSet<>();
+        List<String> hashes = new ArrayList<>(byHash.keySet());
+        for (int i = 0; i < hashes.size(); i += IN_LIST_CHUNK) {
+            existing.addAll(articleRepository.findExistingHashes(
+                    hashes.subList(i, Math.min(i + IN_LIST_CHUNK, hashes.size()))));
+        }
+
+        Map<String, Sector> sectors = new LinkedHashMap<>();
+        List<Article> toInsert = new ArrayList<>();
+        for (Map.Entry<String, ArticleDTO> entry : byHash.entrySet()) {
+            if (!existing.contains(entry.getKey())) {
+                toInsert.add(toEntity(entry.getValue(), entry.getKey(), sectors));
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            // L'index de quasi-doublons ne doit pas garder des articles annulés, y compris
+            // quand c'est le commit lui-même qui échoue
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        articleDeduplicator.invalidate();
+                    }
+                }
+            });
+            articleDeduplicator.prepare();
+            articleRepository.saveAll(toInsert);
+            int duplicates = linkNearDuplicates(toInsert);
+            articleRepository.flush();
+            System.out.println("💾 Articles: " + toInsert.size() + " new (" + duplicates + " near-duplicates), "
+                    + existing.size() + " already stored");
+        }
+        return toInsert.size();
+    }
+
+    /**
+     * 🧬 Keep only the best copy of each story active; the others point to it
+     *
+     * @return number of inserted articles that were near-duplicates
+     */
+    private int linkNearDuplicates(List<Article> inserted) {
+        // Best copies first: within a batch they become the canonical article directly
+        List<Article> byQuality = new ArrayList<>(inserted);
+        byQuality.sort(Comparator.comparingLong(ArticleIngestionService::quality).reversed());
+
+        int duplicates = 0;
+        for (Article article : byQuality) {
+            ArticleDeduplicator.Fingerprint fingerprint = articleDeduplicator.fingerprint(article.getTitle());
+            if (fingerprint == null) {
+                continue;
+            }
+            long quality = quality(article);
+            ArticleDeduplicator.Match match = articleDeduplicator.findDuplicate(fingerprint);
+
+            if (match == null) {
+                articleDeduplicator.add(article.getId(), fingerprint, quality);
+            } else if (quality > match.getQuality()) {
+                // Better than the stored copy: it takes its place, with its alternates
+                articleRepository.markDuplicate(match.getId(), article.getId());
+                articleRepository.reassignDuplicates(match.getId(), article.getId());
+                articleDeduplicator.replace(match.getId(), article.getId(), fingerprint, quality);
+                duplicates++;
+            } else {
+                article.setIsActive(false);
+                article.setDuplicateOf(match.getId());
+                duplicates++;
+            }
+        }
+        return duplicates;
+    }
+
+    private static long quality(Article article) {
+        return ArticleDeduplicator.quality(article.getImageUrl(), article.getContent().length());
+    }
+
+    /**
+     * Most recent active articles, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<ArticleDTO> loadLatest(int limit) {
+        return findPage(PageRequest.of(0, limit)).getContent();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ArticleDTO> findPage(Pageable pageable) {
+        Page<ArticleDTO> page = articleRepository.findActiveWithSector(pageable).map(this::toDTO);
+        attachAlternateSources(page.getContent());
+        return page;
+    }
+
+    /**
+     * Up to {@code limit} articles published before the (publishedAt, id) cursor, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<ArticleDTO> findAfter(LocalDateTime publishedAt, Long id, int limit) {
+        List<ArticleDTO> articles = articleRepository.findActiveAfter(publishedAt, id, PageRequest.of(0, limit)).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+        attachAlternateSources(articles);
+        return articles;
+    }
+
+    /**
+     * Articles with the given ids, in the same order (unknown ids are skipped)
+     */
+    @Transactional(readOnly = true)
+    public List<ArticleDTO> findByIds(List<Long> ids) {
+        Map<Long, ArticleDTO> byId = new HashMap<>();
+        for (Article article : articleRepository.findAllById(ids)) {
+            byId.put(article.getId(), toDTO(article));
+        }
+        List<ArticleDTO> articles = new ArrayList<>();
+        for (Long id : ids) {
+            if (byId.containsKey(id)) {
+                articles.add(byId.get(id));
+            }
+        }
+        attachAlternateSources(articles);
+        return articles;
+    }
+
+    /**
+     * 🔗 Attach the near-duplicates of each article as alternate sources
+     */
+    private void attachAlternateSources(List<ArticleDTO> articles) {
+        Map<Long, ArticleDTO> byId = new HashMap<>();
+        for (ArticleDTO article : articles) {
+            byId.put(article.getId(), article);
+        }
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int i = 0; i < ids.size(); i += IN_LIST_CHUNK) {
+            for (Object[] duplicate : articleRepository.findDuplicateSourcesOf(
+                    ids.subList(i, Math.min(i + IN_LIST_CHUNK, ids.size())))) {
+                ArticleDTO canonical = byId.get((Long) duplicate[0]);
+                if (canonical.getAlternateSources() == null) {
+                    canonical.setAlternateSources(new ArrayList<>());
+                }
+                canonical.getAlternateSources().add(
+                        new ArticleDTO.SourceLink((String) duplicate[1], (String) duplicate[2]));
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long countActive() {
+        return articleRepository.countByIsActiveTrue();
+    }
+
+    public ArticleDTO toDTO(Article article) {
+        return ArticleDTO.builder()
+                .id(article.getId())
+                .title(article.getTitle())
+                .content(article.getContent())
+                .sector(article.getSector() != null ? article.getSector().getName() : "Économie générale")
+                .date(article.getPublishedAt() != null
+                        ? article.getPublishedAt().format(DATE_FORMAT)
+                        : LocalDate.now().format(DATE_FORMAT))
+                .readingTime((article.getReadingTime() != null ? article.getReadingTime() : 3) + " min")
+                .views(article.getViews())
+                .tags(article.getTagsList())
+                .image(article.getImageUrl())
+                .featured(Boolean.TRUE.equals(article.getFeatured()))
+                .sourceUrl(article.getSourceUrl())
+                .sourceName(article.getSourceName())
+                .publishedAt(article.getPublishedAt())
+                .build();
+    }
+
+    private Article toEntity(ArticleDTO dto, String hash, Map<String, Sector> sectors) {
+        Article article = new Article();
+        article.setTitle(truncate(dto.getTitle(), 500));
+        article.setContent(dto.getContent() != null && !dto.getContent().isBlank() ? dto.getContent() : dto.getTitle());
+        article.setExcerpt(truncate(dto.getContent(), 300));
+        article.setSector(sectors.computeIfAbsent(dto.getSector(), this::findOrCreateArticleSector));
+        article.setAuthor(dto.getSourceName() != null ? dto.getSourceName() : "Rédaction");
+        article.setSourceName(dto.getSourceName());
+        article.setSourceUrl(dto.getSourceUrl());
+        article.setSourceUrlHash(hash);
+        article.setImageUrl(dto.getImage());
+        article.setPublishedAt(dto.getPublishedAt() != null ? dto.getPublishedAt() : parseDate(dto.getDate()));
+        article.setReadingTime(parseReadingTime(dto.getReadingTime()));
+        article.setViews(dto.getViews() != null ? dto.getViews() : 0);
+        article.setFeatured(dto.isFeatured());
+        article.setTagsList(dto.getTags());
+        return article;
+    }
+
+    /**
+     * Secteurs créés pour les articles restent inactifs: ils n'apparaissent pas dans les filtres projets
+     */
+    private Sector findOrCreateArticleSector(String sectorName) {
+        String name = sectorName != null ? sectorName : "Économie générale";
+        return sectorRepository.findByName(name)
+                .orElseGet(() -> {
+                    Sector sector = new Sector();
+                    sector.setName(name);
+                    sector.setIsActive(false);
+                    return sectorRepository.save(sector);
+                });
+    }
+
+    private LocalDateTime parseDate(String date) {
+        if (date != null) {
+            try {
+                return LocalDate.parse(date.length() > 10 ? date.substring(0, 10) : date, DATE_FORMAT).atStartOfDay();
+            } catch (DateTimeParseException e) {
+                // tombe sur la date du jour
+            }
+        }
+        return LocalDateTime.now();
+    }
+
+    private Integer parseReadingTime(String readingTime) {
+        if (readingTime != null) {
+            String digits = readingTime.replaceAll("[^0-9]", "");
+            if (!digits.isEmpty() && digits.length() < 4) {
+                return Integer.parseInt(digits);
+            }
+        }
+        return null;
+    }
+
+    private String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+
+    static String hashSourceUrl(String sourceUrl) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(sourceUrl.trim().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.RawJson;
+
+/**
+ * 📄 One page of articles, already serialized, with the cursor of the next page
+ */
+public final class ArticlePage {
+
+    private final RawJson data;
+    private final int count;
+    private final String nextCursor;
+
+    ArticlePage(RawJson data, int count, String nextCursor) {
+        this.data = data;
+        this.count = count;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * JSON array of the articles, written as is in the response
+     */
+    public RawJson getData() { return data; }
+    public int getCount() { return count; }
+
+    /**
+     * Cursor to pass back for the next page, null on the last page
+     */
+    public String getNextCursor() { return nextCursor; }
+}
@@ -0,0 +1,80 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.ArticleDTO;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📸 Immutable set of articles served to readers.
+ *
+ * A new snapshot is built off the request path by the refresher and swapped in
+ * atomically, so readers never observe a partially refreshed list. Its
+ * {@link ArticleIndex} (search, sectors, tags, stats) is built at the same time.
+ */
+public final class ArticleSnapshot {
+
+    private static final ArticleSnapshot EMPTY = new ArticleSnapshot(List.of(), Instant.EPOCH, true);
+
+    private final List<ArticleDTO> articles;
+    private final ArticleIndex index;
+    // Pages déjà sérialisées, valables tant que ce snapshot est servi
+    private final Map<String, ArticlePage> pages;
+    private final Instant loadedAt;
+    private final boolean fallback;
+
+    public ArticleSnapshot(List<ArticleDTO> articles, Instant loadedAt, boolean fallback) {
+        this.articles = List.copyOf(articles);
+        this.index = new ArticleIndex(this.articles);
+        this.pages = new ConcurrentHashMap<>();
+        this.loadedAt = loadedAt;
+        this.fallback = fallback;
+    }
+
+    private ArticleSnapshot(ArticleSnapshot source, Instant loadedAt) {
+        this.articles = source.articles;
+        this.index = source.index;
+        this.pages = source.pages;
+        this.loadedAt = loadedAt;
+        this.fallback = source.fallback;
+    }
+
+    public static ArticleSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Same articles (and index), re-stamped as loaded at the given time
+     */
+    public ArticleSnapshot withLoadedAt(Instant loadedAt) {
+        return new ArticleSnapshot(this, loadedAt);
+    }
+
+    public List<ArticleDTO> getArticles() { return articles; }
+    ArticleIndex getIndex() { return index; }
+
+    ArticlePage getCachedPage(String key) {
+        return pages.get(key);
+    }
+
+    /**
+     * Keep a serialized page, up to {@code maxPages} per snapshot
+     */
+    void cachePage(String key, ArticlePage page, int maxPages) {
+        if (pages.size() < maxPages) {
+            pages.putIfAbsent(key, page);
+        }
+    }
+    public Instant getLoadedAt() { return loadedAt; }
+
+    /**
+     * True when the snapshot holds placeholder articles instead of fetched ones
+     */
+    public boolean isFallback() { return fallback; }
+
+    public boolean isOlderThan(long maxAgeMillis) {
+        return loadedAt.plusMillis(maxAgeMillis).isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,68 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.ArticleDTO;
+import com.regioninvest.util.FeedHttpClient;
+
+import java.util.List;
+
+/**
+ * 📡 An upstream feed of articles (NewsAPI, RSS, ...).
+ *
+ * Implementations are plain Spring beans; {@link ArticleSourceFetcher} picks up
+ * every bean of this type and fetches them in parallel.
+ */
+public interface ArticleSource {
+
+    /**
+     * Stable short name, used in logs, metrics and configuration keys
+     */
+    String getName();
+
+    /**
+     * Fetch the current articles. Failures must be thrown, not swallowed,
+     * so that the fetcher can count them and fall back to the last good result.
+     *
+     * Sources keep no validators themselves: the fetcher passes back those of the
+     * last result whose articles were stored, so a result that is lost (timeout,
+     * failed ingestion) is fetched again in full.
+     *
+     * @param validators ETag / Last-Modified for a conditional GET, or null
+     */
+    Result fetchArticles(FeedHttpClient.Validators validators) throws Exception;
+
+    /**
+     * A disabled source is skipped without counting as a failure (e.g. missing API key)
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Articles of one fetch, with the validators of the response they came from
+     */
+    final class Result {
+        private final List<ArticleDTO> articles;
+        private final FeedHttpClient.Validators validators;
+
+        private Result(List<ArticleDTO> articles, FeedHttpClient.Validators validators) {
+            this.articles = articles;
+            this.validators = validators;
+        }
+
+        public static Result of(List<ArticleDTO> articles, FeedHttpClient.Validators validators) {
+            return new Result(articles, validators);
+        }
+
+        /**
+         * The upstream reports nothing changed since the given validators (HTTP 304)
+         */
+        public static Result notModified(FeedHttpClient.Validators validators) {
+            return new Result(null, validators);
+        }
+
+        // null when not modified
+        public List<ArticleDTO> getArticles() { return articles; }
+        public FeedHttpClient.Validators getValidators() { return validators; }
+        public boolean isNotModified() { return articles == null; }
+    }
+}
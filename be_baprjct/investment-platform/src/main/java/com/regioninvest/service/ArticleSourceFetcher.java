@@ -0,0 +1,279 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.ArticleDTO;
+import com.regioninvest.util.FeedHttpClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ⚡ Fetches every {@link ArticleSource} concurrently on a bounded pool.
+ *
+ * Each source has its own deadline and circuit breaker, so a refresh takes as long
+ * as the slowest healthy source. Only fresh content is returned: when a source is
+ * unchanged (304), fails, times out or is short-circuited, its last good articles
+ * are the ones already stored by {@link ArticleIngestionService}.
+ *
+ * The validators (ETag / Last-Modified) of fresh results are only kept once the
+ * caller has stored their articles ({@link #commit}); until then, the sources keep
+ * sending the previous ones and a lost result is fetched again in full.
+ */
+@Component
+public class ArticleSourceFetcher {
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, SourceState> states = new LinkedHashMap<>();
+
+    @Value("${app.articles.source-timeout-ms:8000}")
+    private long sourceTimeoutMillis;
+
+    @Value("${app.articles.circuit.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${app.articles.circuit.open-ms:300000}")
+    private long openMillis;
+
+    public ArticleSourceFetcher(List<ArticleSource> sources, MeterRegistry meterRegistry,
+                                @Value("${app.articles.fetch-threads:4}") int threads) {
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(sources.size(), 1) * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "article-source-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        for (ArticleSource source : sources) {
+            SourceState state = new SourceState(source);
+            states.put(source.getName(), state);
+            Gauge.builder("articles.source.articles", state, s -> s.lastArticleCount)
+                    .tag("source", source.getName())
+                    .description("Articles in the last good result of the source")
+                    .register(meterRegistry);
+            Gauge.builder("articles.source.circuit.open", state, s -> s.isOpen(Instant.now()) ? 1 : 0)
+                    .tag("source", source.getName())
+                    .description("1 while the circuit breaker of the source is open")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Fetch all enabled sources in parallel and merge their fresh results
+     * (no articles when nothing changed upstream)
+     */
+    public Batch fetchAll() {
+        Instant now = Instant.now();
+        Map<SourceState, Future<Fetch>> running = new LinkedHashMap<>();
+        List<ArticleDTO> merged = new ArrayList<>();
+        Map<SourceState, FeedHttpClient.Validators> validators = new LinkedHashMap<>();
+
+        for (SourceState state : states.values()) {
+            if (!state.source.isEnabled()) {
+                continue;
+            }
+            if (state.isOpen(now)) {
+                record(state, "short_circuited", 0);
+                continue;
+            }
+            try {
+                running.put(state, executor.submit(() -> fetch(state)));
+            } catch (RejectedExecutionException e) {
+                // Previous fetch of a hung source still holds the pool
+                record(state, "rejected", 0);
+            }
+        }
+
+        // All sources started at the same time: each deadline is measured from now
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sourceTimeoutMillis);
+
+        for (Map.Entry<SourceState, Future<Fetch>> entry : running.entrySet()) {
+            SourceState state = entry.getKey();
+            Future<Fetch> future = entry.getValue();
+            try {
+                Fetch result = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (result.error != null) {
+                    onFailure(state, "error", result.error.getClass().getSimpleName() + ": " + result.error.getMessage(),
+                            result.elapsedNanos);
+                } else if (result.result.isNotModified()) {
+                    state.onSuccess(null);
+                    record(state, "not_modified", result.elapsedNanos);
+                } else {
+                    List<ArticleDTO> articles = result.result.getArticles();
+                    state.onSuccess(articles);
+                    record(state, "success", result.elapsedNanos);
+                    merged.addAll(articles);
+                    validators.put(state, result.result.getValidators());
+                }
+            } catch (TimeoutException e) {
+                // A late result is dropped with its validators: the next fetch is a full one
+                future.cancel(true);
+                onFailure(state, "timeout", "timeout after " + sourceTimeoutMillis + " ms",
+                        TimeUnit.MILLISECONDS.toNanos(sourceTimeoutMillis));
+            } catch (ExecutionException e) {
+                onFailure(state, "error", String.valueOf(e.getCause()), 0);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+            }
+        }
+
+        return new Batch(merged, validators);
+    }
+
+    /**
+     * Keep the validators of a batch whose articles are stored, so that the next
+     * fetch of its sources is conditional. Not called when storing failed.
+     */
+    public void commit(Batch batch) {
+        batch.validators.forEach((state, validators) -> state.validators = validators);
+    }
+
+    /**
+     * 📊 Per-source status (circuit, last success, last error)
+     */
+    public List<Map<String, Object>> getSourceStatus() {
+        Instant now = Instant.now();
+        List<Map<String, Object>> status = new ArrayList<>();
+        for (SourceState state : states.values()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", state.source.getName());
+            entry.put("enabled", state.source.isEnabled());
+            entry.put("circuitOpen", state.isOpen(now));
+            entry.put("consecutiveFailures", state.consecutiveFailures);
+            entry.put("lastArticles", state.lastArticleCount);
+            entry.put("lastSuccessAt", state.lastSuccessAt != null ? state.lastSuccessAt.toString() : null);
+            entry.put("lastError", state.lastError);
+            status.add(entry);
+        }
+        return status;
+    }
+
+    /**
+     * Runs on the pool: times the fetch and captures its failure
+     */
+    private Fetch fetch(SourceState state) {
+        long started = System.nanoTime();
+        try {
+            ArticleSource.Result result = state.source.fetchArticles(state.validators);
+            return new Fetch(result, System.nanoTime() - started, null);
+        } catch (Exception e) {
+            return new Fetch(null, System.nanoTime() - started, e);
+        }
+    }
+
+    private void onFailure(SourceState state, String outcome, String message, long elapsedNanos) {
+        boolean opened = state.onFailure(message, failureThreshold, openMillis);
+        record(state, outcome, elapsedNanos);
+        System.err.println("❌ " + state.source.getName() + " " + outcome + ": " + message);
+        if (opened) {
+            System.err.println("🔌 Circuit opened for " + state.source.getName() + " (" + openMillis / 1000 + "s)");
+        }
+    }
+
+    private void record(SourceState state, String outcome, long elapsedNanos) {
+        Timer.builder("articles.source.fetch")
+                .tag("source", state.source.getName())
+                .tag("outcome", outcome)
+                .description("Latency of article source fetches")
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fresh articles of a refresh, and the validators to keep once they are stored
+     */
+    public static final class Batch {
+        private final List<ArticleDTO> articles;
+        private final Map<SourceState, FeedHttpClient.Validators> validators;
+
+        private Batch(List<ArticleDTO> articles, Map<SourceState, FeedHttpClient.Validators> validators) {
+            this.articles = articles;
+            this.validators = validators;
+        }
+
+        public List<ArticleDTO> getArticles() { return articles; }
+    }
+
+    private static final class Fetch {
+        private final ArticleSource.Result result;
+        private final long elapsedNanos;
+        private final Exception error;
+
+        private Fetch(ArticleSource.Result result, long elapsedNanos, Exception error) {
+            this.result = result;
+            this.elapsedNanos = elapsedNanos;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Circuit breaker state of one source.
+     * Only mutated by the (single-flight) refresh thread; volatile for readers of the status.
+     */
+    private static final class SourceState {
+        private final ArticleSource source;
+        // Validators of the last stored result, sent back for a conditional GET
+        private volatile FeedHttpClient.Validators validators;
+        private volatile int lastArticleCount;
+        private volatile Instant lastSuccessAt;
+        private volatile String lastError;
+        private volatile int consecutiveFailures;
+        private volatile Instant openUntil = Instant.EPOCH;
+
+        private SourceState(ArticleSource source) {
+            this.source = source;
+        }
+
+        // Après l'ouverture, un seul essai (half-open) est laissé passer
+        private boolean isOpen(Instant now) {
+            return now.isBefore(openUntil);
+        }
+
+        private void onSuccess(List<ArticleDTO> articles) {
+            if (articles != null) {
+                lastArticleCount = articles.size();
+            }
+            lastSuccessAt = Instant.now();
+            lastError = null;
+            consecutiveFailures = 0;
+            openUntil = Instant.EPOCH;
+        }
+
+        private boolean onFailure(String message, int threshold, long openMillis) {
+            lastError = message;
+            consecutiveFailures++;
+            if (consecutiveFailures >= threshold) {
+                openUntil = Instant.now().plusMillis(openMillis);
+                return true;
+            }
+            return false;
+        }
+    }
+}
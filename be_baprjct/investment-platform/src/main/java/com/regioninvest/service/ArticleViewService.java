@@ -0,0 +1,216 @@
+package com.regioninvest.service;
+
+import com.regioninvest.repository.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 👁️ Article view counters.
+ *
+ * A view only increments in-memory counters (no lock, no database access); the
+ * pending counts are added to articles.views in one JDBC batch per flush. Daily
+ * buckets over the last 7 days give the "most read this week" ranking, which is
+ * recomputed at each flush rather than per request.
+ *
+ * Unknown ids are remembered too, until the next ingestion, so that views of
+ * articles that do not exist do not reach the database either.
+ */
+@Service
+public class ArticleViewService {
+
+    private static final int DAYS = 7;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Taille du classement "les plus lus" gardé en mémoire
+    @Value("${app.articles.views.top-size:50}")
+    private int topSize;
+
+    // Nombre maximal d'ids inconnus mémorisés
+    @Value("${app.articles.views.max-missing:10000}")
+    private int maxMissing;
+
+    // Horloge des compartiments journaliers (remplacée dans les tests)
+    Clock clock = Clock.systemDefaultZone();
+
+    // Vues pas encore écrites en base, par article
+    private final ConcurrentHashMap<Long, AtomicLong> pending = new ConcurrentHashMap<>();
+
+    // Ids déjà vérifiés absents de la base
+    private final Set<Long> missing = ConcurrentHashMap.newKeySet();
+
+    // Un compteur par jour, indexé par jour modulo 7
+    private final AtomicReferenceArray<DayBucket> days = new AtomicReferenceArray<>(DAYS);
+
+    private volatile List<ViewCount> topThisWeek = List.of();
+    private volatile Instant lastFlushAt = Instant.EPOCH;
+
+    /**
+     * Count one view of an article
+     *
+     * @return false if the article does not exist
+     */
+    public boolean recordView(Long articleId) {
+        AtomicLong counter = pending.get(articleId);
+        if (counter == null) {
+            // Premier passage pour cet article: vérifier qu'il existe, une seule fois
+            if (missing.contains(articleId)) {
+                return false;
+            }
+            if (!articleRepository.existsById(articleId)) {
+                if (missing.size() >= maxMissing) {
+                    missing.clear();
+                }
+                missing.add(articleId);
+                return false;
+            }
+            counter = pending.computeIfAbsent(articleId, id -> new AtomicLong());
+        }
+        counter.incrementAndGet();
+        today().counts.computeIfAbsent(articleId, id -> new LongAdder()).increment();
+        return true;
+    }
+
+    /**
+     * New articles were stored: ids remembered as unknown may exist now
+     */
+    public void onArticlesAdded() {
+        missing.clear();
+    }
+
+    /**
+     * 💾 Write pending views in one batch and refresh the weekly ranking
+     */
+    @Scheduled(fixedDelayString = "${app.articles.views.flush-interval-ms:10000}")
+    public void flush() {
+        List<Object[]> updates = new ArrayList<>();
+        for (Map.Entry<Long, AtomicLong> entry : pending.entrySet()) {
+            long delta = entry.getValue().getAndSet(0);
+            if (delta > 0) {
+                updates.add(new Object[]{delta, entry.getKey()});
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate("UPDATE articles SET views = views + ? WHERE id = ?", updates);
+                lastFlushAt = Instant.now();
+            } catch (Exception e) {
+                // Remettre les vues en attente pour le prochain essai
+                for (Object[] update : updates) {
+                    pending.computeIfAbsent((Long) update[1], id -> new AtomicLong()).addAndGet((Long) update[0]);
+                }
+                System.err.println("❌ Error flushing article views: " + e.getMessage());
+            }
+        }
+
+        topThisWeek = computeTopThisWeek();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 🔥 Most viewed articles over the last 7 days, most viewed first
+     */
+    public List<ViewCount> getTopThisWeek(int limit) {
+        List<ViewCount> top = topThisWeek;
+        return top.size() > limit ? top.subList(0, limit) : top;
+    }
+
+    /**
+     * Time of the last flush that wrote views, to know when the snapshot counts are outdated
+     */
+    public Instant getLastFlushAt() {
+        return lastFlushAt;
+    }
+
+    private List<ViewCount> computeTopThisWeek() {
+        LocalDate oldest = LocalDate.now(clock).minusDays(DAYS - 1);
+        Map<Long, Long> totals = new HashMap<>();
+        for (int i = 0; i < DAYS; i++) {
+            DayBucket bucket = days.get(i);
+            if (bucket != null && !bucket.day.isBefore(oldest)) {
+                bucket.counts.forEach((id, count) -> totals.merge(id, count.sum(), Long::sum));
+            }
+        }
+
+        // Top K with a min-heap of size K
+        PriorityQueue<ViewCount> heap = new PriorityQueue<>((a, b) -> Long.compare(a.views, b.views));
+        for (Map.Entry<Long, Long> total : totals.entrySet()) {
+            if (heap.size() < topSize) {
+                heap.add(new ViewCount(total.getKey(), total.getValue()));
+            } else if (total.getValue() > heap.peek().views) {
+                heap.poll();
+                heap.add(new ViewCount(total.getKey(), total.getValue()));
+            }
+        }
+        List<ViewCount> top = new ArrayList<>(heap);
+        top.sort((a, b) -> Long.compare(b.views, a.views));
+        return List.copyOf(top);
+    }
+
+    private DayBucket today() {
+        LocalDate day = LocalDate.now(clock);
+        int slot = (int) Math.floorMod(day.toEpochDay(), (long) DAYS);
+        DayBucket bucket = days.get(slot);
+        while (bucket == null || !bucket.day.equals(day)) {
+            // Nouveau jour: le compartiment d'il y a 7 jours est remplacé
+            DayBucket fresh = new DayBucket(day);
+            if (days.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+            bucket = days.get(slot);
+        }
+        return bucket;
+    }
+
+    private static final class DayBucket {
+        private final LocalDate day;
+        private final ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+
+        private DayBucket(LocalDate day) {
+            this.day = day;
+        }
+    }
+
+    /**
+     * Views of one article
+     */
+    public static final class ViewCount {
+        private final Long articleId;
+        private final long views;
+
+        ViewCount(Long articleId, long views) {
+            this.articleId = articleId;
+            this.views = views;
+        }
+
+        public Long getArticleId() { return articleId; }
+        public long getViews() { return views; }
+    }
+}
@@ -0,0 +1,97 @@
+package com.regioninvest.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 🪣 Storage of uploaded files (images, PDFs and their variants), by key.
+ *
+ * Keys are the relative paths stored on projects (e.g. ab/cd/&lt;sha256&gt;.pdf).
+ * The local implementation keeps them under app.upload.dir; the S3 one in a
+ * bucket shared by every application node (app.storage.type=s3). Nothing else
+ * reads or writes the upload directory, except for temporary files.
+ */
+public interface BlobStore {
+
+    /**
+     * Store a local file under the key, replacing any previous content. The file
+     * may be moved rather than copied: callers pass a temporary file they no longer need
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    /**
+     * Size and modification date, or null if there is no such blob
+     */
+    BlobInfo stat(String key) throws IOException;
+
+    default boolean exists(String key) throws IOException {
+        return stat(key) != null;
+    }
+
+    /**
+     * Stream the whole content; the caller closes the stream
+     *
+     * @throws java.io.FileNotFoundException if there is no such blob
+     */
+    InputStream get(String key) throws IOException;
+
+    /**
+     * Copy {@code length} bytes starting at {@code offset} to the output, read from
+     * the storage side only (a PDF page range does not load the whole file)
+     */
+    void read(String key, long offset, long length, OutputStream out) throws IOException;
+
+    /**
+     * Delete the blob; nothing happens if it does not exist
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * Visit every blob, page by page (nothing is collected in memory); temporary
+     * files are not listed
+     */
+    void list(BlobVisitor visitor) throws IOException;
+
+    /**
+     * Time-limited URL clients can download the blob from directly, without going
+     * through the application, or null when the application serves it itself
+     *
+     * @param contentDisposition Content-Disposition the download should be served with, or null
+     */
+    String directUrl(String key, Duration validity, String contentDisposition);
+
+    /**
+     * Keys come from the database: refuse anything that could leave the store
+     */
+    static void checkKey(String key) {
+        if (key == null || key.isEmpty() || key.startsWith("/") || key.contains("\\")
+                || key.equals("..") || key.startsWith("../") || key.endsWith("/..") || key.contains("/../")) {
+            throw new IllegalArgumentException("Clé de fichier invalide: " + key);
+        }
+    }
+
+    @FunctionalInterface
+    interface BlobVisitor {
+        void visit(String key, BlobInfo info) throws IOException;
+    }
+
+    final class BlobInfo {
+        private final long size;
+        private final long lastModified;
+
+        public BlobInfo(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        public long getSize() { return size; }
+
+        /**
+         * Epoch milliseconds
+         */
+        public long getLastModified() { return lastModified; }
+    }
+}
@@ -0,0 +1,284 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.ChunkedUploadRequest;
+import com.regioninvest.dto.ProjectDTO;
+import com.regioninvest.dto.UserDTO;
+import com.regioninvest.entity.ChunkedUpload;
+import com.regioninvest.repository.ChunkedUploadRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * 🧩 Resumable uploads of large project files (PDF dossiers, high resolution images).
+ *
+ * The client announces the file (size, SHA-256, target project), then sends it in
+ * chunks with PUT ?offset=: each chunk is written straight from the request stream
+ * into a temporary file at its offset, through a small buffer, so memory does not
+ * depend on the file or chunk size and Tomcat never buffers a multipart body. After a
+ * dropped connection the client asks how much was received and continues from there.
+ * On completion the whole file is hashed once, compared with the announced checksum,
+ * then stored (content-addressed) and attached to the project.
+ *
+ * Temporary files live in the upload directory: with several nodes and object storage,
+ * the chunks of one upload must reach the same node (sticky sessions) or that
+ * directory must be shared.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final String CHUNKS_DIR = "chunks";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ChunkedUploadRepository chunkedUploadRepository;
+
+    @Autowired
+    private ProjectAuthorizationService projectAuthorizationService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.upload.chunked.max-file-size:524288000}")
+    private long maxFileSize;
+
+    @Value("${app.upload.chunked.max-chunk-size:8388608}")
+    private long maxChunkSize;
+
+    @Value("${app.upload.chunked.expiry-hours:24}")
+    private long expiryHours;
+
+    /**
+     * Démarrer un upload: vérifie le droit de modifier le projet et réserve le fichier temporaire
+     */
+    public ChunkedUpload init(ChunkedUploadRequest request, String username) throws IOException {
+        UserDTO currentUser = projectAuthorizationService.requireUser(username);
+        if (!projectAuthorizationService.canManageProject(currentUser, request.getProjectId())) {
+            throw new RuntimeException("Vous n'êtes pas autorisé à modifier ce projet");
+        }
+        if (request.getSize() > maxFileSize) {
+            throw new IllegalArgumentException("Fichier trop volumineux (maximum " + maxFileSize / (1024 * 1024) + " Mo)");
+        }
+        // Mêmes types que les uploads multipart
+        String contentType = request.getContentType();
+        if ("pdf".equals(request.getKind()) && !"application/pdf".equals(contentType)) {
+            throw new IllegalArgumentException("Le fichier doit être un PDF");
+        }
+        if ("image".equals(request.getKind()) && (contentType == null || !contentType.startsWith("image/"))) {
+            throw new IllegalArgumentException("Le fichier image doit être de type image");
+        }
+
+        ChunkedUpload upload = new ChunkedUpload();
+        upload.setId(UUID.randomUUID().toString());
+        upload.setUsername(username);
+        upload.setProjectId(request.getProjectId());
+        upload.setKind(request.getKind());
+        upload.setFileName(request.getFileName());
+        upload.setContentType(request.getContentType());
+        upload.setSize(request.getSize());
+        upload.setSha256(request.getSha256().toLowerCase(Locale.ROOT));
+
+        Files.createDirectories(chunksDir());
+        Files.deleteIfExists(partFile(upload.getId()));
+        Files.createFile(partFile(upload.getId()));
+        return chunkedUploadRepository.save(upload);
+    }
+
+    /**
+     * Écrire un morceau à sa position. Un morceau déjà reçu peut être renvoyé (réponse
+     * perdue): il est réécrit à la même place. Un trou avant l'offset est refusé.
+     *
+     * @return nombre d'octets reçus (contigus depuis le début)
+     */
+    public long appendChunk(String id, long offset, InputStream body, String username) throws IOException {
+        ChunkedUpload upload = require(id, username);
+        Path part = partFile(id);
+        if (!Files.exists(part)) {
+            throw new RuntimeException("Upload non trouvé: " + id);
+        }
+
+        long received;
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+            // Un seul morceau à la fois par upload (aussi entre processus si le répertoire est partagé)
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new OffsetMismatchException(channel.size(), "Un autre morceau de cet upload est en cours d'écriture");
+            }
+            try {
+                long current = channel.size();
+                if (offset < 0 || offset > current) {
+                    throw new OffsetMismatchException(current, "Offset " + offset + " attendu " + current);
+                }
+
+                long limit = Math.min(upload.getSize(), offset + maxChunkSize);
+                long position = offset;
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                byte[] bytes = buffer.array();
+                int read;
+                while ((read = body.read(bytes)) > 0) {
+                    if (position + read > limit) {
+                        throw new IllegalArgumentException(position + read > upload.getSize()
+                                ? "Le morceau dépasse la taille annoncée du fichier"
+                                : "Morceau trop volumineux (maximum " + maxChunkSize + " octets)");
+                    }
+                    buffer.clear().limit(read);
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                }
+                received = Math.max(current, position);
+            } finally {
+                lock.release();
+            }
+        }
+
+        chunkedUploadRepository.touch(id, LocalDateTime.now());
+        return received;
+    }
+
+    /**
+     * Octets déjà reçus, pour reprendre après une coupure
+     */
+    public long received(String id, String username) throws IOException {
+        require(id, username);
+        Path part = partFile(id);
+        if (!Files.exists(part)) {
+            throw new RuntimeException("Upload non trouvé: " + id);
+        }
+        return Files.size(part);
+    }
+
+    /**
+     * ✅ Terminer: taille et SHA-256 vérifiés, fichier stocké et rattaché au projet
+     */
+    public ProjectDTO complete(String id, String username) throws IOException {
+        ChunkedUpload upload = require(id, username);
+        Path part = partFile(id);
+        if (!Files.exists(part)) {
+            throw new RuntimeException("Upload non trouvé: " + id);
+        }
+
+        long received = Files.size(part);
+        if (received != upload.getSize()) {
+            throw new OffsetMismatchException(received, "Upload incomplet: " + received + "/" + upload.getSize() + " octets");
+        }
+
+        String hash = FileStorageService.hashOf(part);
+        if (!hash.equals(upload.getSha256())) {
+            // Contenu corrompu: l'upload est abandonné, le client doit recommencer
+            discard(id);
+            throw new IllegalArgumentException("Somme de contrôle SHA-256 invalide");
+        }
+
+        // En cas d'échec (base indisponible...) le fichier reçu et vérifié est gardé: le client
+        // peut relancer /complete jusqu'à l'expiration de l'upload. Le stockage local déplace
+        // le fichier qu'on lui donne: il reçoit un lien dur, pas le fichier de l'upload
+        Path attached = attachedFile(id);
+        Files.deleteIfExists(attached);
+        Files.createLink(attached, part);
+        ProjectDTO project;
+        try {
+            project = projectService.attachUploadedFile(upload.getProjectId(), upload.getKind(), attached, hash,
+                    upload.getFileName(), upload.getContentType(), username);
+        } finally {
+            Files.deleteIfExists(attached);
+        }
+        discard(id);
+        System.out.println("🧩 Chunked upload " + id + " (" + received + " bytes) attached to project "
+                + upload.getProjectId());
+        return project;
+    }
+
+    /**
+     * Annuler un upload en cours
+     */
+    public void cancel(String id, String username) throws IOException {
+        require(id, username);
+        discard(id);
+    }
+
+    /**
+     * 🧹 Supprimer les uploads sans nouveau morceau depuis le délai d'expiration
+     */
+    @Scheduled(fixedDelayString = "${app.upload.chunked.sweep-interval-ms:3600000}", initialDelay = 120000)
+    public void sweepExpired() {
+        int deleted = 0;
+        for (String id : chunkedUploadRepository.findIdsUpdatedBefore(LocalDateTime.now().minusHours(expiryHours))) {
+            try {
+                discard(id);
+                deleted++;
+            } catch (Exception e) {
+                System.err.println("❌ Error deleting expired upload " + id + ": " + e.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            System.out.println("🧹 Deleted " + deleted + " expired chunked upload(s)");
+        }
+    }
+
+    private ChunkedUpload require(String id, String username) {
+        ChunkedUpload upload = chunkedUploadRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Upload non trouvé: " + id));
+        if (!upload.getUsername().equals(username)) {
+            throw new RuntimeException("Upload non trouvé: " + id);
+        }
+        return upload;
+    }
+
+    private void discard(String id) throws IOException {
+        chunkedUploadRepository.deleteById(id);
+        Files.deleteIfExists(partFile(id));
+        Files.deleteIfExists(attachedFile(id));
+    }
+
+    private Path chunksDir() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize().resolve(FileStorageService.TEMP_DIR).resolve(CHUNKS_DIR);
+    }
+
+    private Path partFile(String id) {
+        // L'id vient de l'URL: seul un UUID est accepté
+        return chunksDir().resolve(UUID.fromString(id) + ".part");
+    }
+
+    private Path attachedFile(String id) {
+        return chunksDir().resolve(UUID.fromString(id) + ".attach");
+    }
+
+    /**
+     * The received byte count does not match what the request assumed (409 for the client,
+     * who resumes from {@link #getReceived()})
+     */
+    public static class OffsetMismatchException extends IllegalStateException {
+        private final long received;
+
+        public OffsetMismatchException(long received, String message) {
+            super(message);
+            this.received = received;
+        }
+
+        public long getReceived() { return received; }
+    }
+}
@@ -0,0 +1,280 @@
+package com.regioninvest.service;
+
+import com.regioninvest.entity.StoredFile;
+import com.regioninvest.repository.StoredFileRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 🗄️ Content-addressed storage of uploaded files.
+ *
+ * An upload is hashed (SHA-256) while it is streamed to a temporary file, then
+ * stored as ab/cd/&lt;sha256&gt;.&lt;ext&gt;: the same content is kept once whoever
+ * uploads it, and a path never changes content, so it can be cached forever.
+ *
+ * Each stored file has a reference count in stored_files, updated in the
+ * caller's transaction (a rolled back project save rolls the count back too).
+ * Files left without references for app.upload.release-grace-minutes are
+ * deleted by a background sweep, with the variants generated next to them
+ * (and the cached previews of a PDF).
+ *
+ * Files live in the {@link BlobStore}; the upload directory only holds the
+ * temporary copy being hashed.
+ */
+@Service
+public class FileStorageService {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.[a-z0-9]{1,5}");
+    // Fichiers temporaires (uploads en cours d'écriture), jamais servis ni listés
+    static final String TEMP_DIR = "tmp";
+    // Type servi selon l'extension validée (stockage objet: servi tel quel par les liens directs)
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg", "png", "image/png", "gif", "image/gif", "webp", "image/webp",
+            "bmp", "image/bmp", "pdf", "application/pdf");
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private PdfPreviewService pdfPreviewService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.upload.release-grace-minutes:60}")
+    private long releaseGraceMinutes;
+
+    private final TransactionTemplate newTransaction;
+
+    public FileStorageService(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 📥 Store an upload (or reuse the identical file already stored) and add a reference to it
+     *
+     * @param extension extension without dot, e.g. "pdf"
+     * @return path relative to the upload directory
+     */
+    public String store(MultipartFile file, String extension) throws IOException {
+        Path tempDir = Files.createDirectories(Paths.get(uploadDir).toAbsolutePath().normalize().resolve(TEMP_DIR));
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            String hash;
+            try (InputStream input = new DigestInputStream(file.getInputStream(), sha256())) {
+                Files.copy(input, temp, StandardCopyOption.REPLACE_EXISTING);
+                hash = HexFormat.of().formatHex(((DigestInputStream) input).getMessageDigest().digest());
+            }
+
+            return store(temp, hash, extension);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 📥 Store a local file whose SHA-256 is already known (e.g. a chunked upload,
+     * verified by the caller) and add a reference to it. The file may be moved.
+     * It is served with the content type of its extension, never the one the client sent.
+     *
+     * @return path relative to the upload directory
+     */
+    public String store(Path file, String sha256, String extension) throws IOException {
+        String hash = sha256.toLowerCase(Locale.ROOT);
+        String path = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension;
+        long size = Files.size(file);
+
+        // La ligne est verrouillée par retain() jusqu'au commit: le ménage ne peut pas la supprimer entre-temps
+        if (storedFileRepository.retain(path) == 0) {
+            createRow(path, size);
+            storedFileRepository.retain(path);
+        }
+
+        if (blobStore.exists(path)) {
+            System.out.println("♻️ Upload already stored, reusing " + path);
+        } else {
+            blobStore.put(path, file, contentTypeOf(extension));
+        }
+        return path;
+    }
+
+    /**
+     * 🔗 Remove a reference to a stored file. Files stored before content addressing
+     * have no count: they are deleted once the transaction commits, as before
+     */
+    public void release(String path) {
+        if (path == null || path.isEmpty() || path.startsWith("http")) {
+            return;
+        }
+        if (storedFileRepository.release(path, LocalDateTime.now()) > 0 || CONTENT_ADDRESSED.matcher(path).matches()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteWithVariants(path);
+                }
+            });
+        } else {
+            deleteWithVariants(path);
+        }
+    }
+
+    /**
+     * SHA-256 (hexadecimal) of a local file, as expected by {@link #store(Path, String, String)}
+     */
+    public static String hashOf(Path file) throws IOException {
+        try (DigestInputStream input = new DigestInputStream(Files.newInputStream(file), sha256())) {
+            input.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(input.getMessageDigest().digest());
+        }
+    }
+
+    /**
+     * Extension to store an upload with: from its name, else from its content type,
+     * if it is one of the allowed ones; the fallback otherwise
+     */
+    public static String extensionOf(MultipartFile file, Set<String> allowed, String fallback) {
+        return extensionOf(file.getOriginalFilename(), file.getContentType(), allowed, fallback);
+    }
+
+    public static String extensionOf(String name, String contentType, Set<String> allowed, String fallback) {
+        if (name != null && name.lastIndexOf('.') >= 0) {
+            String extension = normalizeExtension(name.substring(name.lastIndexOf('.') + 1));
+            if (allowed.contains(extension)) {
+                return extension;
+            }
+        }
+        if (contentType != null && contentType.indexOf('/') >= 0) {
+            String subtype = normalizeExtension(contentType.substring(contentType.indexOf('/') + 1));
+            if (allowed.contains(subtype)) {
+                return subtype;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Content type of a stored file, from its extension
+     */
+    public static String contentTypeOf(String extension) {
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    /**
+     * 🧹 Delete files without references for longer than the grace period
+     */
+    @Scheduled(fixedDelayString = "${app.upload.release-sweep-interval-ms:600000}", initialDelay = 60000)
+    public void sweepReleased() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(releaseGraceMinutes);
+        List<String> released = storedFileRepository.findReleasedBefore(cutoff, PageRequest.of(0, 500));
+        int deleted = 0;
+        for (String path : released) {
+            try {
+                // Le fichier est supprimé avant le commit, ligne verrouillée: un upload identique
+                // concurrent attend, puis recrée la ligne et le fichier
+                Boolean removed = newTransaction.execute(status -> {
+                    if (storedFileRepository.deleteIfUnreferenced(path) == 0) {
+                        return false;
+                    }
+                    deleteWithVariants(path);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(removed)) {
+                    deleted++;
+                }
+            } catch (Exception e) {
+                System.err.println("❌ Error deleting released file " + path + ": " + e.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            System.out.println("🧹 Deleted " + deleted + " unreferenced upload(s)");
+        }
+    }
+
+    /**
+     * Row with no reference yet, committed on its own so that a concurrent identical
+     * upload does not fail the caller's transaction (it just finds the row)
+     */
+    private void createRow(String path, long size) {
+        try {
+            // persist (et non save/merge, qui écraserait une ligne créée entre-temps)
+            newTransaction.executeWithoutResult(status -> {
+                entityManager.persist(new StoredFile(path, size));
+                entityManager.flush();
+            });
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            // créée en parallèle par un upload identique (le flush explicite lève l'exception
+            // Hibernate, non traduite par Spring)
+        }
+    }
+
+    /**
+     * Delete a file and the variants generated next to it (name_catalog.jpg...)
+     */
+    private void deleteWithVariants(String path) {
+        try {
+            blobStore.delete(path);
+            for (String variant : ImageDerivativeService.variantNames(path)) {
+                blobStore.delete(variant);
+            }
+            if (path.endsWith(".pdf")) {
+                pdfPreviewService.deletePreviews(path);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erreur lors de la suppression du fichier " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static String normalizeExtension(String extension) {
+        String lower = extension.trim().toLowerCase(Locale.ROOT);
+        return lower.equals("jpeg") ? "jpg" : lower;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
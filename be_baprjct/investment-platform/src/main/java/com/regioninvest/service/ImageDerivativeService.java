@@ -0,0 +1,511 @@
+package com.regioninvest.service;
+
+import com.regioninvest.repository.ProjectRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🖼️ Background generation of resized project images.
+ *
+ * Each uploaded image is decoded once on a small bounded pool and re-encoded in
+ * three sizes: catalog card, detail page and thumbnail. Only the pixels are
+ * written, so camera metadata (EXIF, GPS...) is dropped; the EXIF orientation is
+ * applied first. Opaque images become JPEG, images with transparency PNG. Until
+ * the variants are recorded on the project, the original is served.
+ *
+ * A tiny blurred-up preview (LQIP) is also computed from the same decoded image
+ * and stored on the project as a data URI, so cards can paint it before any
+ * image request.
+ */
+@Service
+public class ImageDerivativeService {
+
+    /**
+     * Sizes of the variants: catalog and thumbnail are cropped to fill the card,
+     * detail keeps the whole picture (never upscaled)
+     */
+    enum Variant {
+        CATALOG("catalog", 800, 500, true),
+        DETAIL("detail", 1600, 1000, false),
+        THUMB("thumb", 320, 200, true);
+
+        private final String suffix;
+        private final int width;
+        private final int height;
+        private final boolean crop;
+
+        Variant(String suffix, int width, int height, boolean crop) {
+            this.suffix = suffix;
+            this.width = width;
+            this.height = height;
+            this.crop = crop;
+        }
+    }
+
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    // Aperçu basse qualité: même ratio que la carte du catalogue
+    private static final int PREVIEW_WIDTH = 16;
+    private static final int PREVIEW_HEIGHT = 10;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.images.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    // Au-delà, l'image n'est pas décodée (protection mémoire)
+    @Value("${app.images.max-pixels:50000000}")
+    private long maxPixels;
+
+    private final ThreadPoolExecutor executor;
+
+    public ImageDerivativeService(@Value("${app.images.threads:2}") int threads,
+                                  @Value("${app.images.queue-size:100}") int queueSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 📥 Generate the variants of a project's new image, once the current transaction
+     * (if any) has committed
+     */
+    public void schedule(Long projectId, String imageFile) {
+        if (imageFile == null || imageFile.isEmpty() || imageFile.startsWith("http")) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(projectId, imageFile);
+                }
+            });
+        } else {
+            submit(projectId, imageFile);
+        }
+    }
+
+    /**
+     * 🔁 Images uploaded before the pipeline existed (or lost in a restart) are processed
+     * one after the other in a single task, without flooding the queue
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void processMissingVariants() {
+        List<Object[]> missing = projectRepository.findImagesWithoutVariants();
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                for (Object[] row : missing) {
+                    String imageFile = (String) row[1];
+                    if (!imageFile.startsWith("http")) {
+                        process((Long) row[0], imageFile);
+                    }
+                }
+            });
+            System.out.println("🖼️ Generating image variants for " + missing.size() + " existing project(s)");
+        } catch (RejectedExecutionException e) {
+            System.err.println("⚠️ Image variants backfill skipped: queue full");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Name of a variant file, next to the original
+     */
+    static String variantName(String imageFile, Variant variant, boolean png) {
+        int dot = imageFile.lastIndexOf('.');
+        String base = dot > imageFile.lastIndexOf('/') && dot > 0 ? imageFile.substring(0, dot) : imageFile;
+        return base + "_" + variant.suffix + (png ? ".png" : ".jpg");
+    }
+
+    /**
+     * Every name a variant of the file may have (JPEG or PNG), to delete them with it
+     */
+    static List<String> variantNames(String imageFile) {
+        List<String> names = new ArrayList<>();
+        for (Variant variant : Variant.values()) {
+            names.add(variantName(imageFile, variant, false));
+            names.add(variantName(imageFile, variant, true));
+        }
+        return names;
+    }
+
+    private void submit(Long projectId, String imageFile) {
+        try {
+            executor.execute(() -> process(projectId, imageFile));
+        } catch (RejectedExecutionException e) {
+            // File pleine: l'original reste servi, le rattrapage au prochain démarrage s'en chargera
+            System.err.println("⚠️ Image variants queue full, skipped project " + projectId);
+        }
+    }
+
+    private void process(Long projectId, String imageFile) {
+        long start = System.currentTimeMillis();
+        try {
+            if (!blobStore.exists(imageFile)) {
+                return;
+            }
+
+            // Même contenu déjà traité pour un autre projet: ses variantes sont partagées
+            List<Object[]> existing = projectRepository.findImageVariantsByImageUrl(imageFile);
+            if (!existing.isEmpty()) {
+                Object[] variants = existing.get(0);
+                if (blobStore.exists((String) variants[0]) && blobStore.exists((String) variants[1])
+                        && blobStore.exists((String) variants[2])) {
+                    projectRepository.updateImageVariants(projectId, imageFile, (String) variants[0],
+                            (String) variants[1], (String) variants[2], (String) variants[3]);
+                    return;
+                }
+            }
+
+            BufferedImage image = decode(imageFile);
+            if (image == null) {
+                System.err.println("⚠️ Unsupported or oversized image for project " + projectId + ": " + imageFile);
+                return;
+            }
+
+            boolean png = image.getColorModel().hasAlpha();
+            String[] names = new String[Variant.values().length];
+            for (Variant variant : Variant.values()) {
+                String name = variantName(imageFile, variant, png);
+                write(resize(image, variant.width, variant.height, variant.crop, png), name, png);
+                names[variant.ordinal()] = name;
+            }
+
+            String preview = preview(image, png);
+
+            int updated = projectRepository.updateImageVariants(projectId, imageFile,
+                    names[Variant.CATALOG.ordinal()], names[Variant.DETAIL.ordinal()], names[Variant.THUMB.ordinal()],
+                    preview);
+            if (updated == 0) {
+                // Projet supprimé ou image remplacée pendant le traitement: les variantes
+                // partent avec l'image quand elle n'est plus référencée
+                return;
+            }
+            System.out.println("🖼️ Image variants for project " + projectId + " generated in "
+                    + (System.currentTimeMillis() - start) + " ms");
+
+        } catch (Exception e) {
+            System.err.println("❌ Error generating image variants for project " + projectId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Decode once, subsampled when the image is much larger than the biggest variant,
+     * and apply the EXIF orientation; null if unsupported or too large
+     */
+    private BufferedImage decode(String imageFile) throws IOException {
+        try (InputStream content = blobStore.get(imageFile);
+             ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, false);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    return null;
+                }
+
+                int orientation = exifOrientation(reader.getImageMetadata(0));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int largest = Math.max(Variant.DETAIL.width, Variant.DETAIL.height);
+                int period = Math.max(1, Math.max(width, height) / (2 * largest));
+                if (period > 1) {
+                    param.setSourceSubsampling(period, period, 0, 0);
+                }
+                return orient(reader.read(0, param), orientation);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 🌫️ LQIP: the image reduced to a few pixels, as a data URI (a few hundred bytes)
+     */
+    static String preview(BufferedImage image, boolean png) throws IOException {
+        BufferedImage small = resize(image, PREVIEW_WIDTH, PREVIEW_HEIGHT, true, png);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(png ? "png" : "jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (!png) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(0.5f);
+            }
+            writer.write(null, new IIOImage(small, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return "data:image/" + (png ? "png" : "jpeg") + ";base64," + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    private static BufferedImage resize(BufferedImage image, int maxWidth, int maxHeight, boolean crop, boolean alpha) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        int sourceX = 0, sourceY = 0, sourceWidth = width, sourceHeight = height;
+        int targetWidth, targetHeight;
+        if (crop) {
+            // Recadrage centré au ratio de la carte
+            double scale = Math.min(1.0, Math.max((double) maxWidth / width, (double) maxHeight / height));
+            targetWidth = (int) Math.min(maxWidth, Math.round(width * scale));
+            targetHeight = (int) Math.min(maxHeight, Math.round(height * scale));
+            sourceWidth = (int) Math.min(width, Math.round(targetWidth / scale));
+            sourceHeight = (int) Math.min(height, Math.round(targetHeight / scale));
+            sourceX = (width - sourceWidth) / 2;
+            sourceY = (height - sourceHeight) / 2;
+        } else {
+            double scale = Math.min(1.0, Math.min((double) maxWidth / width, (double) maxHeight / height));
+            targetWidth = (int) Math.max(1, Math.round(width * scale));
+            targetHeight = (int) Math.max(1, Math.round(height * scale));
+        }
+
+        BufferedImage current = image.getSubimage(sourceX, sourceY, sourceWidth, sourceHeight);
+        int currentWidth = sourceWidth;
+        int currentHeight = sourceHeight;
+
+        // Réductions successives par deux: un seul pas bilinéaire donnerait du crénelage
+        while (currentWidth / 2 >= targetWidth && currentHeight / 2 >= targetHeight) {
+            currentWidth /= 2;
+            currentHeight /= 2;
+            current = draw(current, currentWidth, currentHeight, alpha);
+        }
+        return draw(current, targetWidth, targetHeight, alpha);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage target = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Encode to a temporary file, then store it
+     */
+    private void write(BufferedImage image, String name, boolean png) throws IOException {
+        Path tempDir = Files.createDirectories(Paths.get(uploadDir).toAbsolutePath().normalize().resolve(FileStorageService.TEMP_DIR));
+        Path temp = Files.createTempFile(tempDir, "variant-", ".part");
+        try {
+            encode(image, temp, png);
+            blobStore.put(name, temp, png ? "image/png" : "image/jpeg");
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void encode(BufferedImage image, Path temp, boolean png) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(png ? "png" : "jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (!png) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * EXIF orientation (1-8) of a JPEG, read from its APP1 segment; 1 when absent
+     */
+    private static int exifOrientation(IIOMetadata metadata) {
+        if (metadata == null || !"javax_imageio_jpeg_image_1.0".equals(metadata.getNativeMetadataFormatName())) {
+            return 1;
+        }
+        Node root = metadata.getAsTree("javax_imageio_jpeg_image_1.0");
+        for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (!"markerSequence".equals(node.getNodeName())) {
+                continue;
+            }
+            for (Node marker = node.getFirstChild(); marker != null; marker = marker.getNextSibling()) {
+                if ("unknown".equals(marker.getNodeName()) && marker instanceof IIOMetadataNode
+                        && "225".equals(((IIOMetadataNode) marker).getAttribute("MarkerTag"))) {
+                    Object data = ((IIOMetadataNode) marker).getUserObject();
+                    if (data instanceof byte[]) {
+                        int orientation = orientationFromExif((byte[]) data);
+                        if (orientation > 0) {
+                            return orientation;
+                        }
+                    }
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Orientation tag of the first IFD of an "Exif\0\0" + TIFF block, or 0
+     */
+    static int orientationFromExif(byte[] data) {
+        if (data.length < 14 || data[0] != 'E' || data[1] != 'x' || data[2] != 'i' || data[3] != 'f') {
+            return 0;
+        }
+        int tiff = 6;
+        boolean little = data[tiff] == 'I';
+        int ifd = tiff + readInt(data, tiff + 4, little);
+        if (ifd < tiff || ifd + 2 > data.length) {
+            return 0;
+        }
+        int entries = readShort(data, ifd, little);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > data.length) {
+                return 0;
+            }
+            if (readShort(data, entry, little) == EXIF_ORIENTATION_TAG) {
+                int value = readShort(data, entry + 8, little);
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean little) {
+        int a = data[offset] & 0xFF;
+        int b = data[offset + 1] & 0xFF;
+        return little ? (b << 8) | a : (a << 8) | b;
+    }
+
+    private static int readInt(byte[] data, int offset, boolean little) {
+        int high = readShort(data, offset + (little ? 2 : 0), little);
+        int low = readShort(data, offset + (little ? 0 : 2), little);
+        return (high << 16) | low;
+    }
+
+    /**
+     * Rotate / flip the pixels as the EXIF orientation says, since it is not kept
+     */
+    private static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation < 2 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        boolean swap = orientation >= 5;
+
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2: // miroir horizontal
+                transform.translate(w, 0);
+                transform.scale(-1, 1);
+                break;
+            case 3: // 180°
+                transform.translate(w, h);
+                transform.rotate(Math.PI);
+                break;
+            case 4: // miroir vertical
+                transform.translate(0, h);
+                transform.scale(1, -1);
+                break;
+            case 5: // transposition
+                transform.rotate(-Math.PI / 2);
+                transform.scale(-1, 1);
+                break;
+            case 6: // 90° horaire
+                transform.translate(h, 0);
+                transform.rotate(Math.PI / 2);
+                break;
+            case 7: // transposition inverse
+                transform.translate(h, w);
+                transform.scale(-1, -1);
+                transform.rotate(-Math.PI / 2);
+                transform.scale(-1, 1);
+                break;
+            default: // 8: 90° anti-horaire
+                transform.translate(0, w);
+                transform.rotate(-Math.PI / 2);
+                break;
+        }
+
+        boolean alpha = image.getColorModel().hasAlpha();
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.drawImage(image, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+}
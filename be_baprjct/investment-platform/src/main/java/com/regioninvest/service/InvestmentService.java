@@ -10,6 +10,7 @@ import com.regioninvest.repository.InvestmentRequestRepository;
 import com.regioninvest.repository.ProjectRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,6 +30,10 @@ public class InvestmentService {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Transactional
     public com.regioninvest.entity.InvestmentRequest saveRendezVousRequest(Map<String, Object> requestData) {
         com.regioninvest.entity.InvestmentRequest request = new com.regioninvest.entity.InvestmentRequest();
 
@@ -57,7 +62,38 @@ public class InvestmentService {
         request.setStatus(RequestStatus.PENDING);
         request.setCreatedAt(LocalDateTime.now());
 
-        return investmentRequestRepository.save(request);
+        com.regioninvest.entity.InvestmentRequest saved = investmentRequestRepository.save(request);
+
+        notifyRendezVousRequest(saved);
+
+        return saved;
+    }
+
+    /**
+     * 📧 Notifier le porteur du projet et accuser réception au demandeur (via l'outbox)
+     */
+    private void notifyRendezVousRequest(com.regioninvest.entity.InvestmentRequest request) {
+        Project project = request.getProject();
+        String projectTitle = project != null ? project.getTitle() : "votre projet";
+
+        if (project != null && project.getPorteur() != null) {
+            mailOutboxService.enqueue(project.getPorteur().getEmail(),
+                    "Nouvelle demande de rendez-vous : " + projectTitle,
+                    "Bonjour " + project.getPorteur().getUsername() + ",\n\n"
+                            + request.getFullName() + " souhaite un rendez-vous concernant \"" + projectTitle + "\".\n\n"
+                            + "Email : " + request.getEmail() + "\n"
+                            + "Téléphone : " + request.getPhone() + "\n"
+                            + (request.getInvestmentAmount() != null ? "Montant envisagé : " + request.getInvestmentAmount() + "\n" : "")
+                            + (request.getMessage() != null ? "\nMessage :\n" + request.getMessage() + "\n" : ""));
+        }
+
+        if (request.getEmail() != null && !request.getEmail().isBlank()) {
+            mailOutboxService.enqueue(request.getEmail(),
+                    "Votre demande de rendez-vous a bien été reçue",
+                    "Bonjour " + request.getFullName() + ",\n\n"
+                            + "Votre demande de rendez-vous concernant \"" + projectTitle + "\" a bien été enregistrée. "
+                            + "Le porteur du projet vous contactera prochainement.");
+        }
     }
 
     public List<com.regioninvest.entity.InvestmentRequest> getAllRendezVousRequests() {
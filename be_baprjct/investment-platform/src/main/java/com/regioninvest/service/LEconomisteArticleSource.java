@@ -0,0 +1,40 @@
+package com.regioninvest.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 📰 L'Économiste RSS Feed - REAL articles
+ */
+@Component
+public class LEconomisteArticleSource extends RssArticleSource {
+
+    @Value("${app.articles.leconomiste.url:https://leconomiste.com/rss-leconomiste}")
+    private String feedUrl;
+
+    @Override
+    public String getName() {
+        return "leconomiste";
+    }
+
+    @Override
+    protected String getFeedUrl() {
+        return feedUrl;
+    }
+
+    @Override
+    protected String getSourceName() {
+        return "L'Économiste";
+    }
+
+    @Override
+    protected String getReadingTime() {
+        return "5 min";
+    }
+
+    // L'Économiste articles are featured
+    @Override
+    protected boolean isFeatured() {
+        return true;
+    }
+}
@@ -0,0 +1,193 @@
+package com.regioninvest.service;
+
+import com.regioninvest.entity.EmailStatus;
+import com.regioninvest.entity.OutboxEmail;
+import com.regioninvest.repository.OutboxEmailRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📧 Transactional outbox for outbound mail.
+ *
+ * Business code calls {@link #enqueue} inside its own transaction, so the email
+ * exists if and only if the business event was committed. A scheduled dispatcher
+ * then sends due messages in batches over a single SMTP connection per batch,
+ * retrying failures with exponential backoff.
+ */
+@Service
+public class MailOutboxService {
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private ObjectProvider<JavaMailSender> mailSenderProvider;
+
+    @Value("${app.mail.from:no-reply@regioninvest.ma}")
+    private String from;
+
+    @Value("${app.mail.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.mail.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${app.mail.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${app.mail.lease-seconds:120}")
+    private long leaseSeconds;
+
+    private volatile boolean missingSenderLogged = false;
+
+    /**
+     * Ajouter un email à l'outbox (rejoint la transaction de l'appelant)
+     */
+    @Transactional
+    public OutboxEmail enqueue(String recipient, String subject, String body) {
+        return outboxEmailRepository.save(new OutboxEmail(recipient, subject, body));
+    }
+
+    /**
+     * 🔄 Envoyer les emails dus, par lots
+     */
+    @Scheduled(fixedDelayString = "${app.mail.dispatch-interval-ms:5000}",
+            initialDelayString = "${app.mail.dispatch-initial-delay-ms:10000}")
+    public void dispatchPending() {
+        JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+        if (mailSender == null) {
+            if (!missingSenderLogged) {
+                System.out.println("⚠️ spring.mail.host not configured: outbox emails stay pending");
+                missingSenderLogged = true;
+            }
+            return;
+        }
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEmail> due = outboxEmailRepository.findDue(
+                    EmailStatus.PENDING, now, PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return;
+            }
+
+            // Lease each row so a concurrent dispatcher (other node) skips it
+            LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+            List<OutboxEmail> claimed = new ArrayList<>();
+            for (OutboxEmail email : due) {
+                if (outboxEmailRepository.claim(email.getId(), email.getNextAttemptAt(), leaseUntil) == 1) {
+                    email.setNextAttemptAt(leaseUntil);
+                    claimed.add(email);
+                }
+            }
+
+            if (!claimed.isEmpty()) {
+                sendBatch(mailSender, claimed);
+            }
+
+            if (due.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Envoyer un lot sur une seule connexion SMTP et enregistrer le résultat
+     */
+    private void sendBatch(JavaMailSender mailSender, List<OutboxEmail> emails) {
+        Map<MimeMessage, OutboxEmail> byMessage = new LinkedHashMap<>();
+        Map<OutboxEmail, String> failures = new IdentityHashMap<>();
+
+        for (OutboxEmail email : emails) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+                helper.setFrom(from);
+                helper.setTo(email.getRecipient());
+                helper.setSubject(email.getSubject());
+                helper.setText(email.getBody(), false);
+                byMessage.put(message, email);
+            } catch (MessagingException | IllegalArgumentException e) {
+                failures.put(email, "Invalid message: " + e.getMessage());
+            }
+        }
+
+        if (!byMessage.isEmpty()) {
+            try {
+                // JavaMailSenderImpl sends the whole array over one connected Transport
+                mailSender.send(byMessage.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                for (Map.Entry<Object, Exception> failed : e.getFailedMessages().entrySet()) {
+                    OutboxEmail email = byMessage.get(failed.getKey());
+                    if (email != null) {
+                        failures.put(email, failed.getValue().getMessage());
+                    }
+                }
+                if (e.getFailedMessages().isEmpty()) {
+                    byMessage.values().forEach(email -> failures.put(email, e.getMessage()));
+                }
+            } catch (MailException e) {
+                byMessage.values().forEach(email -> failures.put(email, e.getMessage()));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int sent = 0;
+        for (OutboxEmail email : emails) {
+            email.setAttempts(email.getAttempts() + 1);
+            String error = failures.get(email);
+            if (error == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                sent++;
+            } else {
+                email.setLastError(truncate(error, 1000));
+                if (email.getAttempts() >= maxAttempts) {
+                    email.setStatus(EmailStatus.FAILED);
+                } else {
+                    email.setNextAttemptAt(now.plusSeconds(backoffSeconds(email.getAttempts())));
+                }
+            }
+        }
+        outboxEmailRepository.saveAll(emails);
+
+        System.out.println("📧 Outbox: " + sent + " sent, " + failures.size() + " failed (batch of " + emails.size() + ")");
+    }
+
+    private long backoffSeconds(int attempts) {
+        long delay = backoffBaseSeconds << Math.min(attempts - 1, 16);
+        return Math.min(delay, backoffMaxSeconds);
+    }
+
+    private String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+}
@@ -0,0 +1,122 @@
+package com.regioninvest.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regioninvest.dto.ArticleDTO;
+import com.regioninvest.util.FeedHttpClient;
+import com.regioninvest.util.RssFeedParser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🔥 NewsAPI - REAL Morocco articles with REAL links
+ */
+@Component
+public class NewsApiArticleSource implements ArticleSource {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private FeedHttpClient feedHttpClient;
+
+    @Autowired
+    private ArticleClassifier articleClassifier;
+
+    // Get your free API key from https://newsapi.org/
+    @Value("${newsapi.key:}")
+    private String newsApiKey;
+
+    @Override
+    public String getName() {
+        return "newsapi";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return newsApiKey != null && !newsApiKey.isEmpty();
+    }
+
+    @Override
+    public Result fetchArticles(FeedHttpClient.Validators validators) throws Exception {
+        List<ArticleDTO> articles = new ArrayList<>();
+
+        // Get Morocco top headlines
+        String url = "https://newsapi.org/v2/top-headlines?country=ma&pageSize=50&apiKey=" + newsApiKey;
+        FeedHttpClient.FeedResponse<JsonNode> response =
+                feedHttpClient.get(url, validators, (in, charset) -> objectMapper.readTree(in));
+
+        if (response.isNotModified()) {
+            return Result.notModified(validators);
+        }
+
+        JsonNode articlesNode = response.getBody().get("articles");
+
+        if (articlesNode != null && articlesNode.isArray()) {
+            for (JsonNode articleNode : articlesNode) {
+                String title = getJsonString(articleNode, "title");
+                String description = getJsonString(articleNode, "description");
+                String url_link = getJsonString(articleNode, "url");
+                String imageUrl = getJsonString(articleNode, "urlToImage");
+                String publishedAt = getJsonString(articleNode, "publishedAt");
+                String source = getJsonString(articleNode.get("source"), "name");
+
+                if (title == null || url_link == null) {
+                    continue;
+                }
+
+                // 🎯 Only investment-related articles are kept
+                ArticleClassifier.Classification classification = articleClassifier.classify(title, description);
+                if (classification.isRelevant()) {
+                    ArticleDTO article = ArticleDTO.builder()
+                            .title(title)
+                            .content(description != null ? description : "Cliquez pour lire l'article complet...")
+                            .sector(classification.getSector())
+                            .date(formatDate(publishedAt))
+                            .publishedAt(RssFeedParser.parseDate(publishedAt))
+                            .readingTime("3 min")
+                            .views(0) // real views are counted by ArticleViewService
+                            .tags(classification.getTags())
+                            .image(imageUrl)
+                            .featured(false)
+                            .sourceUrl(url_link) // 🔥 REAL link to original article
+                            .sourceName(source)
+                            .build();
+
+                    articles.add(article);
+                }
+            }
+        }
+
+        System.out.println("✅ NewsAPI: Loaded " + articles.size() + " real articles");
+        return Result.of(articles, response.getValidators());
+    }
+
+    /**
+     * 📅 Format dates
+     */
+    private String formatDate(String dateStr) {
+        if (dateStr == null) return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+
+        // NewsAPI format: 2024-12-04T15:30:00Z
+        if (dateStr.contains("T")) {
+            return dateStr.substring(0, 10); // Just the date part
+        }
+        return dateStr;
+    }
+
+    /**
+     * 🔧 Helper method to safely get JSON string
+     */
+    private String getJsonString(JsonNode node, String field) {
+        if (node != null && node.has(field) && !node.get(field).isNull()) {
+            return node.get(field).asText();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,311 @@
+package com.regioninvest.service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 🖼️ JPEG previews of project PDF pages.
+ *
+ * A preview is rendered once per PDF content, page and width, then kept on disk
+ * (app.pdf.preview.cache-dir) for the lifetime of the file: content-addressed PDFs
+ * are identified by their SHA-256, older files by their name, which never changes
+ * content either. Previews are deleted with the PDF ({@link #deletePreviews}). Requested widths are rounded up to one of app.pdf.preview.widths,
+ * so that arbitrary values cannot fill the cache.
+ *
+ * Rendering runs on a small bounded pool; concurrent requests for the same preview
+ * wait for a single render, and a full queue is reported to the caller (503) rather
+ * than piling up request threads. The page count of each PDF is remembered after its
+ * first render, so that requests for pages past the end are refused without rendering.
+ */
+@Service
+public class PdfPreviewService {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("(?:^|/)([0-9a-f]{64})\\.pdf$");
+    // Pages très allongées: hauteur limitée à ce multiple de la largeur
+    private static final int MAX_ASPECT = 4;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.pdf.preview.cache-dir:${app.upload.dir:uploads}/tmp/previews}")
+    private String cacheDir;
+
+    @Value("${app.pdf.preview.widths:160,320,640,960,1280}")
+    private int[] widths;
+
+    @Value("${app.pdf.preview.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    @Value("${app.pdf.preview.timeout-ms:30000}")
+    private long timeoutMillis;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<Path>> rendering = new ConcurrentHashMap<>();
+    // Nombre de pages par version de PDF (0: illisible), les moins récemment utilisées oubliées
+    private final Map<String, Integer> pageCounts;
+
+    public PdfPreviewService(@Value("${app.pdf.preview.threads:2}") int threads,
+                             @Value("${app.pdf.preview.queue-size:20}") int queueSize,
+                             @Value("${app.pdf.preview.page-count-cache-size:10000}") int pageCountCacheSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-preview-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.pageCounts = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > pageCountCacheSize;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Version of a stored PDF, for preview URLs that can be cached forever:
+     * its SHA-256 when the name carries it, else a hash of the name
+     */
+    public static String version(String pdfFile) {
+        Matcher named = CONTENT_ADDRESSED.matcher(pdfFile);
+        if (named.find()) {
+            return named.group(1);
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(pdfFile.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Shorter version, for the "v" parameter of preview URLs
+     */
+    public static String urlVersion(String pdfFile) {
+        return version(pdfFile).substring(0, 16);
+    }
+
+    /**
+     * Allowed width for a requested one: the smallest that is at least as large, or the largest
+     *
+     * @param requested null for the default (third allowed width, or the largest)
+     */
+    public int normalizeWidth(Integer requested) {
+        int[] sorted = Arrays.stream(widths).sorted().toArray();
+        if (requested == null) {
+            return sorted[Math.min(2, sorted.length - 1)];
+        }
+        for (int width : sorted) {
+            if (width >= requested) {
+                return width;
+            }
+        }
+        return sorted[sorted.length - 1];
+    }
+
+    /**
+     * 📥 Preview of a page (1-based) at an allowed width, rendered if not cached yet
+     *
+     * @return JPEG file in the cache
+     * @throws IllegalArgumentException if the page does not exist or the PDF cannot be read
+     * @throws PreviewBusyException if the render queue is full or the render too slow
+     */
+    public Path preview(String pdfFile, int page, int width) throws IOException {
+        if (page < 1) {
+            throw new IllegalArgumentException("Numéro de page invalide: " + page);
+        }
+        String version = version(pdfFile);
+        Path cached = Paths.get(cacheDir).toAbsolutePath().normalize()
+                .resolve(version.substring(0, 2))
+                .resolve(version + "-p" + page + "-w" + width + ".jpg");
+        if (Files.exists(cached)) {
+            return cached;
+        }
+        // Page inexistante d'un PDF déjà ouvert: refusée sans copier ni relire le fichier
+        Integer pages = pageCounts.get(version);
+        if (pages != null && page > pages) {
+            throw new IllegalArgumentException(pages == 0 ? "PDF illisible"
+                    : "Page " + page + " inexistante (" + pages + " page(s))");
+        }
+
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> render = rendering.putIfAbsent(cached.toString(), created);
+        if (render == null) {
+            render = created;
+            try {
+                executor.execute(() -> {
+                    try {
+                        created.complete(render(pdfFile, version, page, width, cached));
+                    } catch (Throwable e) {
+                        created.completeExceptionally(e);
+                    } finally {
+                        rendering.remove(cached.toString());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rendering.remove(cached.toString());
+                throw new PreviewBusyException("File de rendu pleine");
+            }
+        }
+
+        try {
+            return render.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Le rendu continue: la prochaine requête trouvera l'aperçu en cache
+            throw new PreviewBusyException("Rendu en cours");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PreviewBusyException("Rendu interrompu");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e.getCause();
+            }
+            throw new IOException("Erreur lors du rendu de l'aperçu: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * 🗑️ Delete the cached previews of a PDF whose file has been deleted
+     */
+    public void deletePreviews(String pdfFile) {
+        String version = version(pdfFile);
+        pageCounts.remove(version);
+        Path dir = Paths.get(cacheDir).toAbsolutePath().normalize().resolve(version.substring(0, 2));
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> previews = Files.newDirectoryStream(dir, version + "-p*-w*.jpg")) {
+            for (Path preview : previews) {
+                Files.deleteIfExists(preview);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error deleting PDF previews of " + pdfFile + ": " + e.getMessage());
+        }
+    }
+
+    private Path render(String pdfFile, String version, int page, int width, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return target;
+        }
+        long start = System.currentTimeMillis();
+        Path tempDir = Files.createDirectories(Paths.get(uploadDir).toAbsolutePath().normalize()
+                .resolve(FileStorageService.TEMP_DIR));
+        Path pdf = Files.createTempFile(tempDir, "pdf-preview-", ".pdf");
+        Path image = null;
+        try {
+            try (InputStream content = blobStore.get(pdfFile)) {
+                Files.copy(content, pdf, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            BufferedImage rendered;
+            PDDocument document;
+            try {
+                document = Loader.loadPDF(pdf.toFile(), IOUtils.createTempFileOnlyStreamCache());
+            } catch (IOException e) {
+                // Fichier local déjà copié: l'erreur vient du PDF lui-même (illisible ou protégé)
+                pageCounts.put(version, 0);
+                throw new IllegalArgumentException("PDF illisible: " + e.getMessage(), e);
+            }
+            try (document) {
+                pageCounts.put(version, document.getNumberOfPages());
+                if (page > document.getNumberOfPages()) {
+                    throw new IllegalArgumentException("Page " + page + " inexistante (" + document.getNumberOfPages() + " page(s))");
+                }
+                PDRectangle box = document.getPage(page - 1).getCropBox();
+                boolean rotated = document.getPage(page - 1).getRotation() % 180 != 0;
+                float pageWidth = rotated ? box.getHeight() : box.getWidth();
+                float pageHeight = rotated ? box.getWidth() : box.getHeight();
+                float scale = Math.min(width / pageWidth, MAX_ASPECT * width / pageHeight);
+                rendered = new PDFRenderer(document).renderImage(page - 1, scale, ImageType.RGB);
+            }
+
+            Files.createDirectories(target.getParent());
+            image = Files.createTempFile(target.getParent(), "preview-", ".part");
+            writeJpeg(rendered, image);
+            Files.move(image, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("🖼️ PDF preview " + target.getFileName() + " rendered in "
+                    + (System.currentTimeMillis() - start) + " ms");
+            return target;
+        } finally {
+            Files.deleteIfExists(pdf);
+            if (image != null) {
+                Files.deleteIfExists(image);
+            }
+        }
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * No render slot available right now (503 for the client, who may retry)
+     */
+    public static class PreviewBusyException extends IllegalStateException {
+        public PreviewBusyException(String message) {
+            super(message);
+        }
+    }
+}
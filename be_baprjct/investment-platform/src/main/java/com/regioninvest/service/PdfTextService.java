@@ -0,0 +1,281 @@
+package com.regioninvest.service;
+
+import com.regioninvest.entity.PdfText;
+import com.regioninvest.repository.PdfTextRepository;
+import com.regioninvest.repository.ProjectRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 📄 Extracts the text of project PDFs for search, in the background.
+ *
+ * Text is cached per content (SHA-256, the name of content-addressed files) in
+ * pdf_texts: a PDF already extracted for any project is not read again, the project
+ * is just linked to the existing text. Extraction reads at most app.pdf.text.max-pages
+ * pages and keeps app.pdf.text.max-chars characters, lowercased with whitespace
+ * collapsed, which project search matches with a lower weight than the title and
+ * description. PDFBox parses from a temporary copy, buffering through temp files,
+ * so memory stays bounded whatever the size of the PDF.
+ */
+@Service
+public class PdfTextService {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("(?:^|/)([0-9a-f]{64})\\.pdf$");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Autowired
+    private PdfTextRepository pdfTextRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.pdf.text.max-pages:50}")
+    private int maxPages;
+
+    @Value("${app.pdf.text.max-chars:100000}")
+    private int maxChars;
+
+    private final ThreadPoolExecutor executor;
+
+    public PdfTextService(@Value("${app.pdf.text.threads:1}") int threads,
+                          @Value("${app.pdf.text.queue-size:100}") int queueSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-text-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 📥 Extract the text of a project's new PDF, once the current transaction
+     * (if any) has committed
+     */
+    public void schedule(Long projectId, String pdfFile) {
+        if (pdfFile == null || pdfFile.isEmpty() || pdfFile.startsWith("http")) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(projectId, pdfFile);
+                }
+            });
+        } else {
+            submit(projectId, pdfFile);
+        }
+    }
+
+    /**
+     * 🔁 PDFs uploaded before extraction existed (or lost in a restart), one after the other
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void processMissingTexts() {
+        List<Object[]> missing = projectRepository.findPdfsWithoutText();
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                for (Object[] row : missing) {
+                    String pdfFile = (String) row[1];
+                    if (!pdfFile.startsWith("http")) {
+                        process((Long) row[0], pdfFile);
+                    }
+                }
+            });
+            System.out.println("📄 Extracting PDF text for " + missing.size() + " existing project(s)");
+        } catch (RejectedExecutionException e) {
+            System.err.println("⚠️ PDF text backfill skipped: queue full");
+        }
+    }
+
+    /**
+     * 🧹 Texts no project uses anymore (PDF replaced or project deleted)
+     */
+    @Scheduled(fixedDelayString = "${app.pdf.text.sweep-interval-ms:86400000}", initialDelay = 300000)
+    public void sweepUnused() {
+        int deleted = pdfTextRepository.deleteUnusedBefore(LocalDateTime.now().minusDays(1));
+        if (deleted > 0) {
+            System.out.println("🧹 Deleted " + deleted + " unused PDF text(s)");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Text as stored for search: lowercase, single spaces
+     */
+    static String normalize(String text, int maxChars) {
+        String normalized = WHITESPACE.matcher(text).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+        return normalized.length() > maxChars ? normalized.substring(0, maxChars) : normalized;
+    }
+
+    private void submit(Long projectId, String pdfFile) {
+        try {
+            executor.execute(() -> process(projectId, pdfFile));
+        } catch (RejectedExecutionException e) {
+            // File pleine: le rattrapage au prochain démarrage s'en chargera
+            System.err.println("⚠️ PDF text queue full, skipped project " + projectId);
+        }
+    }
+
+    private void process(Long projectId, String pdfFile) {
+        long start = System.currentTimeMillis();
+        Path temp = null;
+        try {
+            if (!blobStore.exists(pdfFile)) {
+                return;
+            }
+
+            // Fichier adressé par contenu: le nom donne le hash, un texte déjà extrait est réutilisé
+            Matcher named = CONTENT_ADDRESSED.matcher(pdfFile);
+            String hash = named.find() ? named.group(1) : null;
+            if (hash != null && pdfTextRepository.existsById(hash)) {
+                projectRepository.updatePdfTextHash(projectId, pdfFile, hash);
+                return;
+            }
+
+            Path tempDir = Files.createDirectories(Paths.get(uploadDir).toAbsolutePath().normalize()
+                    .resolve(FileStorageService.TEMP_DIR));
+            temp = Files.createTempFile(tempDir, "pdf-text-", ".pdf");
+            try (InputStream content = blobStore.get(pdfFile)) {
+                Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (hash == null) {
+                // Ancien nom (avant l'adressage par contenu)
+                hash = FileStorageService.hashOf(temp);
+                if (pdfTextRepository.existsById(hash)) {
+                    projectRepository.updatePdfTextHash(projectId, pdfFile, hash);
+                    return;
+                }
+            }
+
+            PdfText text = extract(hash, temp);
+            try {
+                pdfTextRepository.save(text);
+            } catch (DataIntegrityViolationException e) {
+                // Même PDF extrait en parallèle pour un autre projet
+            }
+            if (projectRepository.updatePdfTextHash(projectId, pdfFile, hash) == 0) {
+                // Projet supprimé ou PDF remplacé pendant l'extraction
+                return;
+            }
+            System.out.println("📄 PDF text for project " + projectId + " extracted in "
+                    + (System.currentTimeMillis() - start) + " ms (" + text.getPages() + " page(s), "
+                    + text.getContent().length() + " chars)");
+
+        } catch (Exception e) {
+            System.err.println("❌ Error extracting PDF text for project " + projectId + ": " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    // supprimé par le ramasse-miettes des fichiers temporaires
+                }
+            }
+        }
+    }
+
+    /**
+     * Text of the first pages; an unreadable or protected PDF gets an empty text, so
+     * that it is not tried again
+     */
+    private PdfText extract(String hash, Path file) {
+        try (PDDocument document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            int pages = Math.min(document.getNumberOfPages(), maxPages);
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(1);
+            stripper.setEndPage(pages);
+            LimitedWriter writer = new LimitedWriter(maxChars);
+            stripper.writeText(document, writer);
+            return new PdfText(hash, normalize(writer.toString(), maxChars), pages);
+        } catch (InvalidPasswordException e) {
+            return new PdfText(hash, "", 0);
+        } catch (IOException e) {
+            // Fichier local déjà copié: l'erreur vient du PDF lui-même
+            System.err.println("⚠️ Unreadable PDF " + hash + ": " + e.getMessage());
+            return new PdfText(hash, "", 0);
+        }
+    }
+
+    /**
+     * Keeps the first characters written, ignores the rest (a little more than the
+     * limit, whitespace is collapsed afterwards)
+     */
+    private static final class LimitedWriter extends Writer {
+        private final StringBuilder text = new StringBuilder();
+        private final int limit;
+
+        private LimitedWriter(int maxChars) {
+            this.limit = maxChars * 2;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            int kept = Math.min(length, limit - text.length());
+            if (kept > 0) {
+                text.append(buffer, offset, kept);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
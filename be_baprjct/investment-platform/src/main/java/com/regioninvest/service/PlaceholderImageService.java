@@ -0,0 +1,76 @@
+package com.regioninvest.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 🔲 Placeholder images for projects without a picture.
+ *
+ * A placeholder is a small SVG (a few hundred bytes) drawn at the requested size,
+ * so any size costs the same and scales without blur. The sizes the application
+ * links to are rendered once and always kept; other sizes go to a small LRU cache
+ * of app.images.placeholder-cache-size entries, so that requests for arbitrary
+ * sizes (the endpoint is public) cannot push the useful ones out.
+ */
+@Service
+public class PlaceholderImageService {
+
+    public static final int MAX_SIZE = 4000;
+
+    // Tailles des URL de remplacement produites par ProjectService
+    static final int[][] APP_SIZES = {{400, 250}, {800, 400}};
+
+    private static final String BACKGROUND = "#e9e4dc";
+    private static final String FOREGROUND = "#a39a8c";
+
+    private final Map<Long, byte[]> appSizes = new HashMap<>();
+    private final Map<Long, byte[]> cache;
+
+    public PlaceholderImageService(@Value("${app.images.placeholder-cache-size:200}") int cacheSize) {
+        for (int[] size : APP_SIZES) {
+            appSizes.put(key(size[0], size[1]), draw(size[0], size[1]));
+        }
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * SVG placeholder of the given size (1..MAX_SIZE pixels per side)
+     */
+    public byte[] render(int width, int height) {
+        if (width < 1 || height < 1 || width > MAX_SIZE || height > MAX_SIZE) {
+            throw new IllegalArgumentException("Taille invalide: " + width + "x" + height);
+        }
+        long key = key(width, height);
+        byte[] svg = appSizes.get(key);
+        if (svg == null) {
+            svg = cache.computeIfAbsent(key, k -> draw(width, height));
+        }
+        return svg;
+    }
+
+    private static long key(int width, int height) {
+        return ((long) width << 32) | height;
+    }
+
+    private static byte[] draw(int width, int height) {
+        int fontSize = Math.max(10, Math.min(width, height) / 8);
+        String svg = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+                + "\" viewBox=\"0 0 " + width + " " + height + "\">"
+                + "<rect width=\"100%\" height=\"100%\" fill=\"" + BACKGROUND + "\"/>"
+                + "<text x=\"50%\" y=\"50%\" fill=\"" + FOREGROUND + "\" font-family=\"sans-serif\" font-size=\""
+                + fontSize + "\" text-anchor=\"middle\" dominant-baseline=\"middle\">"
+                + width + " × " + height + "</text></svg>";
+        return svg.getBytes(StandardCharsets.UTF_8);
+    }
+}
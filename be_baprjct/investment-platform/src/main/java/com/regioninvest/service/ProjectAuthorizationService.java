@@ -0,0 +1,75 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.UserDTO;
+import com.regioninvest.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🔐 Contrôles de rôle et de propriété des projets, sans recharger les entités.
+ *
+ * Le rôle vient du cache utilisateur (UserService), le propriétaire d'un projet
+ * d'un cache projectId -> porteurId alimenté à la création et au premier accès.
+ */
+@Service
+public class ProjectAuthorizationService {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    // projectId -> porteurId (le porteur d'un projet ne change jamais)
+    private final ConcurrentHashMap<Long, Long> projectOwners = new ConcurrentHashMap<>();
+
+    /**
+     * Utilisateur authentifié (id + rôle), depuis le cache
+     */
+    public UserDTO requireUser(String username) {
+        return userService.findCachedByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé: " + username));
+    }
+
+    public boolean isAdmin(UserDTO user) {
+        return "ADMIN".equals(user.getRole());
+    }
+
+    public boolean canCreateProjects(UserDTO user) {
+        return isAdmin(user) || "PORTEUR".equals(user.getRole());
+    }
+
+    /**
+     * L'utilisateur est-il ADMIN ou propriétaire du projet ?
+     * Lève une exception si le projet n'existe pas.
+     */
+    public boolean canManageProject(UserDTO user, Long projectId) {
+        if (isAdmin(user)) {
+            return true;
+        }
+        Long porteurId = getPorteurId(projectId)
+                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
+        return porteurId.equals(user.getId());
+    }
+
+    public Optional<Long> getPorteurId(Long projectId) {
+        Long cached = projectOwners.get(projectId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Long> loaded = projectRepository.findPorteurIdById(projectId);
+        loaded.ifPresent(porteurId -> projectOwners.put(projectId, porteurId));
+        return loaded;
+    }
+
+    public void registerProjectOwner(Long projectId, Long porteurId) {
+        projectOwners.put(projectId, porteurId);
+    }
+
+    public void evictProject(Long projectId) {
+        projectOwners.remove(projectId);
+    }
+}
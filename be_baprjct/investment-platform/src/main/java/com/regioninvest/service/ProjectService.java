@@ -13,11 +13,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -26,6 +23,8 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProjectService {
 
+    static final Set<String> IMAGE_EXTENSIONS = Set.of("jpg", "png", "gif", "webp", "bmp");
+
     @Autowired
     private ProjectRepository projectRepository;
 
@@ -35,8 +34,20 @@ public class ProjectService {
     @Autowired
     private UserRepository userRepository;
 
-    @Value("${app.upload.dir:uploads/projects}")
-    private String uploadDir;
+    @Autowired
+    private ProjectAuthorizationService projectAuthorizationService;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private PdfTextService pdfTextService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private BlobStore blobStore;
 
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
@@ -121,19 +132,68 @@ public class ProjectService {
         return convertToDetailDTO(project);
     }
 
+    /**
+     * Détail d'un projet sans compter de vue (suivi d'une soumission)
+     *
+     * @return vide si le projet n'existe plus
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProjectDTO> findProjectDetails(Long id) {
+        return projectRepository.findByIdWithDetails(id).map(this::convertToDetailDTO);
+    }
+
+    /**
+     * 📄 Fichier PDF d'un projet, sans charger le détail ni compter de vue (téléchargement)
+     *
+     * @return null si le projet n'existe pas ou n'a pas de PDF stocké
+     */
+    @Transactional(readOnly = true)
+    public ProjectPdf findProjectPdf(Long id) throws IOException {
+        List<Object[]> rows = projectRepository.findPdfById(id);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        String pdfUrl = (String) rows.get(0)[0];
+        if (pdfUrl == null || pdfUrl.isEmpty()) {
+            return null;
+        }
+
+        if (pdfUrl.startsWith("http")) {
+            return null;
+        }
+
+        BlobStore.BlobInfo info = blobStore.stat(pdfUrl);
+        if (info == null) {
+            return null;
+        }
+        return new ProjectPdf(pdfUrl, info, (String) rows.get(0)[1]);
+    }
+
     /**
      * 🆕 UPDATED: Créer un nouveau projet avec support PDF
      */
     public ProjectDTO createProject(ProjectCreateRequest request, MultipartFile image, MultipartFile pdfFile, String username) {
-        // Vérifier que l'utilisateur existe et est un porteur ou admin
-        User porteur = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé: " + username));
+        // Vérifier que l'utilisateur existe et est un porteur ou admin (cache, sans requête)
+        UserDTO currentUser = requireCreator(username);
 
-        // Vérifier le rôle - permettre ADMIN et PORTEUR
-        if (!hasRole(porteur, "PORTEUR") && !hasRole(porteur, "ADMIN")) {
-            throw new RuntimeException("Seuls les porteurs et administrateurs peuvent créer des projets");
-        }
+        // Gérer l'upload d'image
+        String imageUrl = image != null && !image.isEmpty() ? saveProjectImage(image) : null;
+
+        // 🆕 NEW: Gérer l'upload de PDF
+        String pdfUrl = pdfFile != null && !pdfFile.isEmpty() ? saveProjectPDF(pdfFile) : null;
+
+        return saveNewProject(request, imageUrl, pdfUrl, currentUser);
+    }
 
+    /**
+     * Créer un projet dont les fichiers sont déjà stockés (soumission asynchrone):
+     * à appeler dans la transaction qui a ajouté leurs références
+     */
+    public ProjectDTO createProjectWithStoredFiles(ProjectCreateRequest request, String imageUrl, String pdfUrl, String username) {
+        return saveNewProject(request, imageUrl, pdfUrl, requireCreator(username));
+    }
+
+    private ProjectDTO saveNewProject(ProjectCreateRequest request, String imageUrl, String pdfUrl, UserDTO currentUser) {
         // Trouver ou créer le secteur
         Sector sector = findOrCreateSector(request.getSector());
 
@@ -141,22 +201,18 @@ public class ProjectService {
         Project project = new Project();
         mapRequestToProject(request, project);
         project.setSector(sector);
-        project.setPorteur(porteur);
-
-        // Gérer l'upload d'image
-        if (image != null && !image.isEmpty()) {
-            String imageUrl = saveProjectImage(image, project.getTitle());
-            project.setImageUrl(imageUrl);
-        }
-
-        // 🆕 NEW: Gérer l'upload de PDF
-        if (pdfFile != null && !pdfFile.isEmpty()) {
-            String pdfUrl = saveProjectPDF(pdfFile, project.getTitle());
-            project.setPdfUrl(pdfUrl);
-        }
+        // Référence (proxy) vers le porteur: seule la clé étrangère est écrite
+        project.setPorteur(userRepository.getReferenceById(currentUser.getId()));
+        project.setImageUrl(imageUrl);
+        project.setPdfUrl(pdfUrl);
 
         // Sauvegarder
         Project savedProject = projectRepository.save(project);
+        projectAuthorizationService.registerProjectOwner(savedProject.getId(), currentUser.getId());
+
+        // Variantes de l'image et texte du PDF (recherche) générés après le commit
+        imageDerivativeService.schedule(savedProject.getId(), savedProject.getImageUrl());
+        pdfTextService.schedule(savedProject.getId(), savedProject.getPdfUrl());
 
         return convertToDTO(savedProject);
     }
@@ -165,53 +221,93 @@ public class ProjectService {
      * 🆕 UPDATED: Mettre à jour un projet avec support PDF
      */
     public ProjectDTO updateProject(Long id, ProjectCreateRequest request, MultipartFile image, MultipartFile pdfFile, String username) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
-
-        // Vérifier que l'utilisateur est le propriétaire OU admin
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+        // Vérifier que l'utilisateur est le propriétaire OU admin, avant de charger le projet
+        UserDTO currentUser = projectAuthorizationService.requireUser(username);
 
-        if (!project.getPorteur().getUsername().equals(username) && !hasRole(currentUser, "ADMIN")) {
+        if (!projectAuthorizationService.canManageProject(currentUser, id)) {
             throw new RuntimeException("Vous n'êtes pas autorisé à modifier ce projet");
         }
 
-        // Trouver ou créer le secteur
-        Sector sector = findOrCreateSector(request.getSector());
+        // Projet, porteur et secteur en une seule requête
+        Project project = projectRepository.findByIdWithDetails(id)
+                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
+
+        // Trouver ou créer le secteur seulement s'il a changé
+        if (project.getSector() == null || !project.getSector().getName().equals(request.getSector())) {
+            project.setSector(findOrCreateSector(request.getSector()));
+        }
 
         // Mettre à jour les champs
         mapRequestToProject(request, project);
-        project.setSector(sector);
 
         // Gérer l'upload d'image
-        if (image != null && !image.isEmpty()) {
-            String imageUrl = saveProjectImage(image, project.getTitle());
-            project.setImageUrl(imageUrl);
+        boolean newImage = image != null && !image.isEmpty();
+        if (newImage) {
+            replaceImage(project, saveProjectImage(image));
         }
 
         // 🆕 NEW: Gérer l'upload de PDF
-        if (pdfFile != null && !pdfFile.isEmpty()) {
-            String pdfUrl = saveProjectPDF(pdfFile, project.getTitle());
-            project.setPdfUrl(pdfUrl);
+        boolean newPdf = pdfFile != null && !pdfFile.isEmpty();
+        if (newPdf) {
+            replacePdf(project, saveProjectPDF(pdfFile));
         }
 
         Project updatedProject = projectRepository.save(project);
+        if (newImage) {
+            imageDerivativeService.schedule(updatedProject.getId(), updatedProject.getImageUrl());
+        }
+        if (newPdf) {
+            pdfTextService.schedule(updatedProject.getId(), updatedProject.getPdfUrl());
+        }
         return convertToDTO(updatedProject);
     }
 
     /**
-     * Supprimer un projet
+     * 📎 Rattacher à un projet un fichier reçu par morceaux et vérifié (image ou PDF)
+     *
+     * @param kind "image" ou "pdf"
      */
-    public void deleteProject(Long id, String username) {
-        Project project = projectRepository.findById(id)
+    public ProjectDTO attachUploadedFile(Long id, String kind, Path file, String sha256, String fileName,
+                                         String contentType, String username) {
+        UserDTO currentUser = projectAuthorizationService.requireUser(username);
+
+        if (!projectAuthorizationService.canManageProject(currentUser, id)) {
+            throw new RuntimeException("Vous n'êtes pas autorisé à modifier ce projet");
+        }
+
+        Project project = projectRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
 
+        boolean image = "image".equals(kind);
+        try {
+            if (image) {
+                String extension = FileStorageService.extensionOf(fileName, contentType, IMAGE_EXTENSIONS, "jpg");
+                replaceImage(project, fileStorageService.store(file, sha256, extension));
+            } else {
+                replacePdf(project, fileStorageService.store(file, sha256, "pdf"));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Erreur lors de la sauvegarde du fichier: " + e.getMessage());
+        }
+
+        Project updatedProject = projectRepository.save(project);
+        if (image) {
+            imageDerivativeService.schedule(updatedProject.getId(), updatedProject.getImageUrl());
+        } else {
+            pdfTextService.schedule(updatedProject.getId(), updatedProject.getPdfUrl());
+        }
+        return convertToDTO(updatedProject);
+    }
+
+    /**
+     * Supprimer un projet (retourne son titre)
+     */
+    public String deleteProject(Long id, String username) {
         // Vérifier les permissions - propriétaire OU admin
         if (username != null) {
-            User currentUser = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+            UserDTO currentUser = projectAuthorizationService.requireUser(username);
 
-            if (!project.getPorteur().getUsername().equals(username) && !hasRole(currentUser, "ADMIN")) {
+            if (!projectAuthorizationService.canManageProject(currentUser, id)) {
                 throw new RuntimeException("Vous n'êtes pas autorisé à supprimer ce projet");
             }
             System.out.println("Project " + id + " deleted by authenticated user: " + username);
@@ -220,18 +316,18 @@ public class ProjectService {
             System.out.println("Project " + id + " deleted via public access (testing mode)");
         }
 
-        // Supprimer l'image si elle existe
-        if (project.getImageUrl() != null) {
-            deleteProjectImage(project.getImageUrl());
-        }
+        Project project = projectRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
 
-        // 🆕 NEW: Supprimer le PDF si il existe
-        if (project.getPdfUrl() != null) {
-            deleteProjectPDF(project.getPdfUrl());
-        }
+        // Libérer l'image (et ses variantes) et le PDF: supprimés s'ils ne sont plus référencés
+        fileStorageService.release(project.getImageUrl());
+        fileStorageService.release(project.getPdfUrl());
 
         projectRepository.delete(project);
+        projectAuthorizationService.evictProject(id);
         System.out.println("Project with ID " + id + " has been successfully deleted");
+
+        return project.getTitle();
     }
 
     /**
@@ -299,8 +395,7 @@ public class ProjectService {
      */
     @Transactional(readOnly = true)
     public ProjectResponse getProjectsByPorteur(String username, Pageable pageable) {
-        User porteur = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+        UserDTO porteur = projectAuthorizationService.requireUser(username);
 
         Page<Project> projectPage = projectRepository.findByPorteurIdAndStatus(
                 porteur.getId(), ProjectStatus.ACTIVE, pageable);
@@ -406,8 +501,14 @@ public class ProjectService {
         dto.setRevenue(project.getRevenue());
         dto.setJobs(project.getJobs());
         dto.setProfitability(project.getProfitability());
-        dto.setImageUrl(formatImageUrl(project.getImageUrl()));
+        dto.setImageUrl(formatImageUrl(imageVariant(project.getImageCatalogUrl(), project), "400/250"));
+        dto.setImagePreview(project.getImagePreview());
         dto.setPdfUrl(project.getPdfUrl()); // 🆕 NEW: Include PDF URL
+        if (project.getPdfUrl() != null && !project.getPdfUrl().isEmpty() && !project.getPdfUrl().startsWith("http")) {
+            // URL versionnée par le contenu du PDF: mise en cache définitive côté client
+            dto.setPdfPreviewUrl(baseUrl + "/api/projects/" + project.getId() + "/pdf/preview?page=1&v="
+                    + PdfPreviewService.urlVersion(project.getPdfUrl()));
+        }
         dto.setStatus(project.getStatus().name());
         dto.setCategory(project.getCategory() != null ? project.getCategory().name() : null);
         dto.setViews(project.getViews());
@@ -438,6 +539,7 @@ public class ProjectService {
 
         // Ajouter tous les champs détaillés
         dto.setDescription(project.getDescription()); // Description complète
+        dto.setImageUrl(formatImageUrl(imageVariant(project.getImageDetailUrl(), project), "800/400"));
         dto.setGoal(project.getGoal());
         dto.setTechnology(project.getTechnology());
         dto.setImpact(project.getImpact());
@@ -485,7 +587,7 @@ public class ProjectService {
         map.put("title", project.getTitle());
         map.put("location", project.getProvince());
         map.put("sector", project.getSector().getName());
-        map.put("image", formatImageUrl(project.getImageUrl()));
+        map.put("image", formatImageUrl(imageVariant(project.getImageThumbUrl(), project), "400/250"));
         map.put("views", project.getViews());
         return map;
     }
@@ -533,86 +635,59 @@ public class ProjectService {
     }
 
     /**
-     * Sauvegarder une image de projet
+     * Utilisateur courant, qui doit pouvoir créer des projets (porteur ou admin)
      */
-    private String saveProjectImage(MultipartFile file, String projectTitle) {
-        try {
-            // Créer le répertoire s'il n'existe pas
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            // Générer un nom de fichier unique
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null ?
-                    originalFilename.substring(originalFilename.lastIndexOf(".")) : ".jpg";
+    private UserDTO requireCreator(String username) {
+        UserDTO currentUser = projectAuthorizationService.requireUser(username);
 
-            String filename = "project_" + System.currentTimeMillis() + "_" +
-                    cleanFilename(projectTitle) + extension;
-
-            Path filePath = uploadPath.resolve(filename);
-
-            // Copier le fichier
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-            return filename;
-
-        } catch (IOException e) {
-            throw new RuntimeException("Erreur lors de la sauvegarde de l'image: " + e.getMessage());
+        // Vérifier le rôle - permettre ADMIN et PORTEUR
+        if (!projectAuthorizationService.canCreateProjects(currentUser)) {
+            throw new RuntimeException("Seuls les porteurs et administrateurs peuvent créer des projets");
         }
+        return currentUser;
     }
 
     /**
-     * 🆕 NEW: Sauvegarder un fichier PDF de projet
+     * Nouvelle image: l'ancienne perd une référence (supprimée si plus personne ne l'utilise)
      */
-    private String saveProjectPDF(MultipartFile file, String projectTitle) {
-        try {
-            // Créer le répertoire s'il n'existe pas
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            // Générer un nom de fichier unique pour le PDF
-            String filename = "project_pdf_" + System.currentTimeMillis() + "_" +
-                    cleanFilename(projectTitle) + ".pdf";
-
-            Path filePath = uploadPath.resolve(filename);
-
-            // Copier le fichier
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+    private void replaceImage(Project project, String imageUrl) {
+        fileStorageService.release(project.getImageUrl());
+        project.setImageUrl(imageUrl);
+
+        // Les anciennes variantes ne correspondent plus: l'original est servi en attendant
+        project.setImageCatalogUrl(null);
+        project.setImageDetailUrl(null);
+        project.setImageThumbUrl(null);
+        project.setImagePreview(null);
+    }
 
-            return filename;
+    private void replacePdf(Project project, String pdfUrl) {
+        fileStorageService.release(project.getPdfUrl());
+        project.setPdfUrl(pdfUrl);
 
-        } catch (IOException e) {
-            throw new RuntimeException("Erreur lors de la sauvegarde du PDF: " + e.getMessage());
-        }
+        // Texte de l'ancien PDF retiré de la recherche jusqu'à l'extraction du nouveau
+        project.setPdfTextHash(null);
     }
 
     /**
-     * Supprimer une image de projet
+     * Sauvegarder une image de projet (stockage adressé par contenu)
      */
-    private void deleteProjectImage(String imageUrl) {
+    private String saveProjectImage(MultipartFile file) {
         try {
-            Path filePath = Paths.get(uploadDir, imageUrl);
-            Files.deleteIfExists(filePath);
+            return fileStorageService.store(file, FileStorageService.extensionOf(file, IMAGE_EXTENSIONS, "jpg"));
         } catch (IOException e) {
-            // Log l'erreur mais ne pas échouer
-            System.err.println("Erreur lors de la suppression de l'image: " + e.getMessage());
+            throw new RuntimeException("Erreur lors de la sauvegarde de l'image: " + e.getMessage());
         }
     }
 
     /**
-     * 🆕 NEW: Supprimer un fichier PDF de projet
+     * 🆕 NEW: Sauvegarder un fichier PDF de projet (stockage adressé par contenu)
      */
-    private void deleteProjectPDF(String pdfUrl) {
+    private String saveProjectPDF(MultipartFile file) {
         try {
-            Path filePath = Paths.get(uploadDir, pdfUrl);
-            Files.deleteIfExists(filePath);
+            return fileStorageService.store(file, "pdf");
         } catch (IOException e) {
-            // Log l'erreur mais ne pas échouer
-            System.err.println("Erreur lors de la suppression du PDF: " + e.getMessage());
+            throw new RuntimeException("Erreur lors de la sauvegarde du PDF: " + e.getMessage());
         }
     }
 
@@ -637,13 +712,6 @@ public class ProjectService {
         return new ProjectResponse.FilterOptions(provinces, sectors, budgetRanges);
     }
 
-    /**
-     * Vérifier si un utilisateur a un rôle spécifique (adapté à votre structure ManyToOne)
-     */
-    private boolean hasRole(User user, String roleName) {
-        return user.getRole() != null && user.getRole().getName().equals(roleName);
-    }
-
     /**
      * Tronquer la description
      */
@@ -655,11 +723,18 @@ public class ProjectService {
     }
 
     /**
-     * Formater l'URL de l'image
+     * Variante redimensionnée de l'image si elle est prête, sinon l'original
      */
-    private String formatImageUrl(String imageUrl) {
+    private String imageVariant(String variant, Project project) {
+        return variant != null ? variant : project.getImageUrl();
+    }
+
+    /**
+     * Formater l'URL de l'image (image générée par /api/placeholder à la taille donnée si absente)
+     */
+    private String formatImageUrl(String imageUrl, String placeholderSize) {
         if (imageUrl == null || imageUrl.isEmpty()) {
-            return "/api/placeholder/400/250";
+            return baseUrl + "/api/placeholder/" + placeholderSize;
         }
 
         if (imageUrl.startsWith("http")) {
@@ -670,9 +745,21 @@ public class ProjectService {
     }
 
     /**
-     * Nettoyer le nom de fichier
+     * PDF d'un projet: clé du fichier stocké, taille / date et titre du projet
      */
-    private String cleanFilename(String filename) {
-        return filename.replaceAll("[^a-zA-Z0-9._-]", "_").toLowerCase();
+    public static final class ProjectPdf {
+        private final String key;
+        private final BlobStore.BlobInfo info;
+        private final String title;
+
+        ProjectPdf(String key, BlobStore.BlobInfo info, String title) {
+            this.key = key;
+            this.info = info;
+            this.title = title;
+        }
+
+        public String getKey() { return key; }
+        public BlobStore.BlobInfo getInfo() { return info; }
+        public String getTitle() { return title; }
     }
 }
\ No newline at end of file
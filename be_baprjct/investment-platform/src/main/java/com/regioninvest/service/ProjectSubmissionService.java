@@ -0,0 +1,289 @@
+package com.regioninvest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regioninvest.dto.ProjectCreateRequest;
+import com.regioninvest.dto.ProjectDTO;
+import com.regioninvest.dto.UserDTO;
+import com.regioninvest.entity.ProjectSubmission;
+import com.regioninvest.repository.ProjectSubmissionRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 📨 Asynchronous project submission.
+ *
+ * The request thread only checks the user, moves the uploaded parts to a staging
+ * directory and records a submission row, then answers 202 with its id. A worker
+ * pool hashes and stores the files, then creates the project (image variants are
+ * scheduled after its commit). The submission is marked completed in the
+ * transaction that creates the project, so a project exists if and only if its
+ * submission says so.
+ *
+ * Rows are leased like the mail outbox: a submission left by a stopped node is
+ * picked up again once its lease expires, by any node that can see its staged
+ * files (same node, or shared upload directory). A full queue is not an error, the
+ * submission stays pending until the next poll.
+ */
+@Service
+public class ProjectSubmissionService {
+
+    private static final String SUBMISSIONS_DIR = "submissions";
+
+    @Autowired
+    private ProjectSubmissionRepository projectSubmissionRepository;
+
+    @Autowired
+    private ProjectAuthorizationService projectAuthorizationService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.projects.submissions.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${app.projects.submissions.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.projects.submissions.expiry-hours:24}")
+    private long expiryHours;
+
+    @Value("${app.projects.submissions.retention-hours:24}")
+    private long retentionHours;
+
+    private final TransactionTemplate transaction;
+    private final ThreadPoolExecutor executor;
+    // Soumissions déjà dans la file de ce serveur (le sondage ne les ajoute pas deux fois)
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    public ProjectSubmissionService(PlatformTransactionManager transactionManager,
+                                    @Value("${app.projects.submissions.threads:2}") int threads,
+                                    @Value("${app.projects.submissions.queue-size:100}") int queueSize) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "project-submission-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 📥 Mettre de côté les données et les fichiers d'un nouveau projet; il sera créé en arrière-plan
+     */
+    public ProjectSubmission submit(ProjectCreateRequest request, MultipartFile image, MultipartFile pdfFile,
+                                    String username) throws IOException {
+        UserDTO currentUser = projectAuthorizationService.requireUser(username);
+        if (!projectAuthorizationService.canCreateProjects(currentUser)) {
+            throw new RuntimeException("Seuls les porteurs et administrateurs peuvent créer des projets");
+        }
+
+        ProjectSubmission submission = new ProjectSubmission();
+        submission.setId(UUID.randomUUID().toString());
+        submission.setUsername(username);
+        submission.setRequestJson(objectMapper.writeValueAsString(request));
+
+        Files.createDirectories(stagingDir());
+        try {
+            // Fichier déjà sur disque (multipart): déplacé, pas recopié
+            if (image != null && !image.isEmpty()) {
+                image.transferTo(stagedFile(submission.getId(), "image").toFile());
+                submission.setHasImage(true);
+                submission.setImageName(image.getOriginalFilename());
+                submission.setImageContentType(image.getContentType());
+            }
+            if (pdfFile != null && !pdfFile.isEmpty()) {
+                pdfFile.transferTo(stagedFile(submission.getId(), "pdf").toFile());
+                submission.setHasPdf(true);
+            }
+            projectSubmissionRepository.save(submission);
+        } catch (IOException | RuntimeException e) {
+            deleteStagedFiles(submission.getId());
+            throw e;
+        }
+
+        enqueue(submission.getId());
+        return submission;
+    }
+
+    /**
+     * État d'une soumission de l'utilisateur
+     */
+    public ProjectSubmission getSubmission(String id, String username) {
+        ProjectSubmission submission = projectSubmissionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Soumission non trouvée: " + id));
+        if (!submission.getUsername().equals(username)) {
+            throw new RuntimeException("Soumission non trouvée: " + id);
+        }
+        return submission;
+    }
+
+    /**
+     * 🔄 Reprendre les soumissions en attente (file pleine, serveur redémarré, bail expiré)
+     */
+    @Scheduled(fixedDelayString = "${app.projects.submissions.poll-interval-ms:10000}",
+            initialDelayString = "${app.projects.submissions.poll-initial-delay-ms:15000}")
+    public void pollPending() {
+        for (String id : projectSubmissionRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize))) {
+            if (!queued.contains(id) && stagedFilesPresent(id) && !enqueue(id)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 🧹 Abandonner les soumissions jamais terminées et oublier les anciennes
+     */
+    @Scheduled(fixedDelayString = "${app.projects.submissions.sweep-interval-ms:3600000}", initialDelay = 180000)
+    public void sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        for (String id : projectSubmissionRepository.findUnfinishedBefore(now.minusHours(expiryHours))) {
+            if (projectSubmissionRepository.expire(id, now) > 0) {
+                deleteStagedFiles(id);
+            }
+        }
+        int deleted = projectSubmissionRepository.deleteCompletedBefore(now.minusHours(retentionHours));
+        if (deleted > 0) {
+            System.out.println("🧹 Deleted " + deleted + " finished project submission(s)");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean enqueue(String id) {
+        if (!queued.add(id)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(id);
+                } finally {
+                    queued.remove(id);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            // File pleine: la soumission reste en attente, reprise au prochain sondage
+            queued.remove(id);
+            return false;
+        }
+    }
+
+    /**
+     * Créer le projet d'une soumission (worker)
+     */
+    private void process(String id) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lease = now.plusSeconds(leaseSeconds).truncatedTo(ChronoUnit.MILLIS);
+        if (projectSubmissionRepository.claim(id, now, lease) == 0) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            ProjectSubmission submission = projectSubmissionRepository.findById(id)
+                    .orElseThrow(() -> new IllegalStateException("Soumission supprimée"));
+            ProjectCreateRequest request = objectMapper.readValue(submission.getRequestJson(), ProjectCreateRequest.class);
+
+            // Hachage hors transaction: la connexion n'est prise que pour stocker et créer le projet
+            Path image = submission.getHasImage() ? stagedFile(id, "image") : null;
+            Path pdf = submission.getHasPdf() ? stagedFile(id, "pdf") : null;
+            String imageHash = image != null ? FileStorageService.hashOf(image) : null;
+            String pdfHash = pdf != null ? FileStorageService.hashOf(pdf) : null;
+
+            ProjectDTO project = transaction.execute(status -> {
+                try {
+                    String imageUrl = image == null ? null : fileStorageService.store(image, imageHash,
+                            FileStorageService.extensionOf(submission.getImageName(), submission.getImageContentType(),
+                                    ProjectService.IMAGE_EXTENSIONS, "jpg"));
+                    String pdfUrl = pdf == null ? null : fileStorageService.store(pdf, pdfHash, "pdf");
+
+                    ProjectDTO created = projectService.createProjectWithStoredFiles(request, imageUrl, pdfUrl,
+                            submission.getUsername());
+                    if (projectSubmissionRepository.complete(id, lease, created.getId(), LocalDateTime.now()) == 0) {
+                        throw new IllegalStateException("Bail de la soumission perdu");
+                    }
+                    return created;
+                } catch (IOException e) {
+                    throw new IllegalStateException("Erreur lors de la sauvegarde des fichiers: " + e.getMessage(), e);
+                }
+            });
+
+            deleteStagedFiles(id);
+            System.out.println("📨 Submission " + id + " completed: project " + project.getId() + " ("
+                    + (System.currentTimeMillis() - start) + " ms)");
+        } catch (Exception e) {
+            System.err.println("❌ Submission " + id + " failed: " + e.getMessage());
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            // Bail perdu: un autre worker a repris la soumission et garde ses fichiers
+            if (projectSubmissionRepository.fail(id, lease, error.length() > 1000 ? error.substring(0, 1000) : error,
+                    LocalDateTime.now()) > 0) {
+                deleteStagedFiles(id);
+            }
+        }
+    }
+
+    /**
+     * Les fichiers de la soumission sont visibles d'ici (même serveur ou répertoire partagé)
+     */
+    private boolean stagedFilesPresent(String id) {
+        return projectSubmissionRepository.findById(id)
+                .map(submission -> (!submission.getHasImage() || Files.exists(stagedFile(id, "image")))
+                        && (!submission.getHasPdf() || Files.exists(stagedFile(id, "pdf"))))
+                .orElse(false);
+    }
+
+    private void deleteStagedFiles(String id) {
+        try {
+            Files.deleteIfExists(stagedFile(id, "image"));
+            Files.deleteIfExists(stagedFile(id, "pdf"));
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la suppression des fichiers de la soumission " + id + ": " + e.getMessage());
+        }
+    }
+
+    private Path stagingDir() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize().resolve(FileStorageService.TEMP_DIR).resolve(SUBMISSIONS_DIR);
+    }
+
+    private Path stagedFile(String id, String kind) {
+        return stagingDir().resolve(id + "-" + kind + ".part");
+    }
+}
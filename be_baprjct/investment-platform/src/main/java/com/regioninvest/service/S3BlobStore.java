@@ -0,0 +1,441 @@
+package com.regioninvest.service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.classic.methods.HttpDelete;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpHead;
+import org.apache.hc.client5.http.classic.methods.HttpPut;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.utils.DateUtils;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.FileEntity;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ☁️ Blobs in an S3-compatible bucket (AWS S3, MinIO, Ceph, Scaleway...), so that
+ * several application nodes share the same files.
+ *
+ * Requests are signed with AWS Signature V4 over the pooled HTTP client, without
+ * an SDK. Uploads stream the file with an unsigned payload, reads can ask for a
+ * byte range, and downloads are redirected to presigned URLs (app.storage.s3.direct-downloads),
+ * so file traffic goes to the bucket rather than through the API nodes.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final String SIGNED_HEADERS = "host;x-amz-content-sha256;x-amz-date";
+    private static final long MAX_PRESIGN_SECONDS = 7 * 24 * 3600; // limite imposée par S3
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+    private static final DateTimeFormatter AMZ_DATE =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final String scheme;
+    private final String host;
+    private final String bucket;
+    private final String region;
+    private final String accessKey;
+    private final String secretKey;
+    private final boolean pathStyle;
+    private final boolean directDownloads;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    public S3BlobStore(@Value("${app.storage.s3.endpoint:https://s3.amazonaws.com}") String endpoint,
+                       @Value("${app.storage.s3.bucket}") String bucket,
+                       @Value("${app.storage.s3.region:us-east-1}") String region,
+                       @Value("${app.storage.s3.access-key}") String accessKey,
+                       @Value("${app.storage.s3.secret-key}") String secretKey,
+                       @Value("${app.storage.s3.path-style:true}") boolean pathStyle,
+                       @Value("${app.storage.s3.direct-downloads:true}") boolean directDownloads,
+                       @Value("${app.storage.s3.timeout-ms:30000}") long timeoutMillis,
+                       @Value("${app.storage.s3.max-connections:50}") int maxConnections) {
+        URI uri = URI.create(endpoint);
+        this.scheme = uri.getScheme();
+        // Path-style: http://minio:9000/bucket/key, sinon https://bucket.s3.amazonaws.com/key
+        this.host = pathStyle ? uri.getRawAuthority() : bucket + "." + uri.getRawAuthority();
+        this.bucket = bucket;
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.pathStyle = pathStyle;
+        this.directDownloads = directDownloads;
+
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(timeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(timeoutMillis))
+                        .setTimeToLive(TimeValue.ofMinutes(10))
+                        .build())
+                .build();
+        // Pas de décompression: les plages d'octets portent sur le contenu stocké
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(timeoutMillis))
+                        .build())
+                .disableContentCompression()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMinutes(2))
+                .build();
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        HttpPut request = new HttpPut(url(key));
+        request.setEntity(new FileEntity(source.toFile(),
+                contentType != null ? ContentType.parse(contentType) : ContentType.APPLICATION_OCTET_STREAM));
+        sign(request, key);
+        httpClient.execute(request, response -> {
+            checkStatus(response, key);
+            EntityUtils.consume(response.getEntity());
+            return null;
+        });
+    }
+
+    @Override
+    public BlobInfo stat(String key) throws IOException {
+        HttpHead request = new HttpHead(url(key));
+        sign(request, key);
+        return httpClient.execute(request, response -> {
+            if (response.getCode() == HttpStatus.SC_NOT_FOUND) {
+                return null;
+            }
+            checkStatus(response, key);
+            Header length = response.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+            Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+            Instant modified = lastModified != null ? DateUtils.parseStandardDate(lastModified.getValue()) : null;
+            return new BlobInfo(length != null ? Long.parseLong(length.getValue()) : 0,
+                    modified != null ? modified.toEpochMilli() : 0);
+        });
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        HttpGet request = new HttpGet(url(key));
+        sign(request, key);
+        ClassicHttpResponse response = httpClient.executeOpen(null, request, null);
+        try {
+            if (response.getCode() == HttpStatus.SC_NOT_FOUND) {
+                throw new FileNotFoundException(key);
+            }
+            checkStatus(response, key);
+            HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                throw new IOException("Empty response for " + key);
+            }
+            // Fermer le flux rend la connexion au pool
+            return new FilterInputStream(entity.getContent()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        response.close();
+                    }
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void read(String key, long offset, long length, OutputStream out) throws IOException {
+        if (length <= 0) {
+            return;
+        }
+        HttpGet request = new HttpGet(url(key));
+        request.setHeader(HttpHeaders.RANGE, "bytes=" + offset + "-" + (offset + length - 1));
+        sign(request, key);
+        httpClient.execute(request, response -> {
+            if (response.getCode() == HttpStatus.SC_NOT_FOUND) {
+                throw new FileNotFoundException(key);
+            }
+            checkStatus(response, key);
+            HttpEntity entity = response.getEntity();
+            if (entity != null) {
+                try (InputStream in = entity.getContent()) {
+                    in.transferTo(out);
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpDelete request = new HttpDelete(url(key));
+        sign(request, key);
+        httpClient.execute(request, response -> {
+            if (response.getCode() != HttpStatus.SC_NOT_FOUND) {
+                checkStatus(response, key);
+            }
+            EntityUtils.consume(response.getEntity());
+            return null;
+        });
+    }
+
+    /**
+     * ListObjectsV2, 1000 keys per page
+     */
+    @Override
+    public void list(BlobVisitor visitor) throws IOException {
+        String bucketUri = pathStyle ? "/" + bucket : "/";
+        String continuationToken = null;
+        do {
+            Map<String, String> parameters = new TreeMap<>();
+            parameters.put("list-type", "2");
+            if (continuationToken != null) {
+                parameters.put("continuation-token", continuationToken);
+            }
+            String query = canonicalQuery(parameters);
+            HttpGet request = new HttpGet(scheme + "://" + host + bucketUri + "?" + query);
+            sign(request, bucketUri, query);
+            continuationToken = httpClient.execute(request, response -> {
+                checkStatus(response, bucket);
+                try (InputStream in = response.getEntity().getContent()) {
+                    return readListPage(in, visitor);
+                }
+            });
+        } while (continuationToken != null);
+    }
+
+    /**
+     * Visit the objects of a ListBucketResult page; the continuation token if it is truncated
+     */
+    private static String readListPage(InputStream in, BlobVisitor visitor) throws IOException {
+        try {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                String key = null;
+                long size = 0;
+                long lastModified = 0;
+                boolean truncated = false;
+                String nextToken = null;
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.END_ELEMENT && "Contents".equals(reader.getLocalName())) {
+                        if (key != null) {
+                            visitor.visit(key, new BlobInfo(size, lastModified));
+                        }
+                        key = null;
+                        size = 0;
+                        lastModified = 0;
+                        continue;
+                    }
+                    if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    switch (reader.getLocalName()) {
+                        case "Key":
+                            key = reader.getElementText();
+                            break;
+                        case "Size":
+                            size = Long.parseLong(reader.getElementText().trim());
+                            break;
+                        case "LastModified":
+                            lastModified = Instant.parse(reader.getElementText().trim()).toEpochMilli();
+                            break;
+                        case "IsTruncated":
+                            truncated = Boolean.parseBoolean(reader.getElementText().trim());
+                            break;
+                        case "NextContinuationToken":
+                            nextToken = reader.getElementText();
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                return truncated ? nextToken : null;
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | RuntimeException e) {
+            throw new IOException("Invalid S3 listing: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String directUrl(String key, Duration validity, String contentDisposition) {
+        if (!directDownloads) {
+            return null;
+        }
+        return presignedUrl(key, validity, contentDisposition, Instant.now());
+    }
+
+    /**
+     * Presigned GET (query string authentication), valid for {@code validity} from {@code now}
+     */
+    String presignedUrl(String key, Duration validity, String contentDisposition, Instant now) {
+        BlobStore.checkKey(key);
+        String amzDate = AMZ_DATE.format(now);
+        String scope = amzDate.substring(0, 8) + "/" + region + "/s3/aws4_request";
+
+        Map<String, String> query = new TreeMap<>();
+        query.put("X-Amz-Algorithm", ALGORITHM);
+        query.put("X-Amz-Credential", accessKey + "/" + scope);
+        query.put("X-Amz-Date", amzDate);
+        query.put("X-Amz-Expires", String.valueOf(Math.max(1, Math.min(MAX_PRESIGN_SECONDS, validity.getSeconds()))));
+        query.put("X-Amz-SignedHeaders", "host");
+        if (contentDisposition != null) {
+            query.put("response-content-disposition", contentDisposition);
+        }
+        String canonicalQuery = canonicalQuery(query);
+
+        String canonicalRequest = "GET\n" + canonicalUri(key) + "\n" + canonicalQuery + "\n"
+                + "host:" + host + "\n\n"
+                + "host\n"
+                + UNSIGNED_PAYLOAD;
+        String signature = signature(amzDate, scope, canonicalRequest);
+        return scheme + "://" + host + canonicalUri(key) + "?" + canonicalQuery + "&X-Amz-Signature=" + signature;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+    }
+
+    /**
+     * Authorization header (Signature V4) for a request on a key
+     */
+    private void sign(HttpUriRequestBase request, String key) {
+        sign(request, canonicalUri(key), "");
+    }
+
+    private void sign(HttpUriRequestBase request, String canonicalUri, String canonicalQuery) {
+        String amzDate = AMZ_DATE.format(Instant.now());
+        String scope = amzDate.substring(0, 8) + "/" + region + "/s3/aws4_request";
+        request.setHeader("x-amz-content-sha256", UNSIGNED_PAYLOAD);
+        request.setHeader("x-amz-date", amzDate);
+
+        String canonicalRequest = request.getMethod() + "\n" + canonicalUri + "\n" + canonicalQuery + "\n"
+                + "host:" + host + "\n"
+                + "x-amz-content-sha256:" + UNSIGNED_PAYLOAD + "\n"
+                + "x-amz-date:" + amzDate + "\n\n"
+                + SIGNED_HEADERS + "\n"
+                + UNSIGNED_PAYLOAD;
+        request.setHeader(HttpHeaders.AUTHORIZATION, ALGORITHM + " Credential=" + accessKey + "/" + scope
+                + ", SignedHeaders=" + SIGNED_HEADERS + ", Signature=" + signature(amzDate, scope, canonicalRequest));
+    }
+
+    private String signature(String amzDate, String scope, String canonicalRequest) {
+        try {
+            String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n"
+                    + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+            byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), amzDate.substring(0, 8));
+            signingKey = hmac(signingKey, region);
+            signingKey = hmac(signingKey, "s3");
+            signingKey = hmac(signingKey, "aws4_request");
+            return HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String url(String key) {
+        BlobStore.checkKey(key);
+        return scheme + "://" + host + canonicalUri(key);
+    }
+
+    private String canonicalUri(String key) {
+        return (pathStyle ? "/" + bucket : "") + "/" + encode(key, false);
+    }
+
+    private static String canonicalQuery(Map<String, String> sortedParameters) {
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, String> parameter : sortedParameters.entrySet()) {
+            if (query.length() > 0) {
+                query.append('&');
+            }
+            query.append(encode(parameter.getKey(), true)).append('=').append(encode(parameter.getValue(), true));
+        }
+        return query.toString();
+    }
+
+    /**
+     * URI encoding as S3 signs it: everything but unreserved characters (and '/' in paths)
+     */
+    private static String encode(String value, boolean encodeSlash) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (c == '/' && !encodeSlash)) {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xF, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(b & 0xF, 16)));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static void checkStatus(ClassicHttpResponse response, String key) throws IOException {
+        int status = response.getCode();
+        if (status < 200 || status >= 300) {
+            throw new IOException("S3 HTTP " + status + " for " + key);
+        }
+    }
+}
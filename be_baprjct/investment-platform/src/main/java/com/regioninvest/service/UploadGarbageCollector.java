@@ -0,0 +1,313 @@
+package com.regioninvest.service;
+
+import com.regioninvest.repository.ProjectRepository;
+import com.regioninvest.repository.StoredFileRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * 🧹 Reconciles stored uploads with the database and deletes orphans.
+ *
+ * Reference counting (FileStorageService) handles files replaced or released by
+ * projects; this is the safety net for everything else: files written before the
+ * counts existed, variants of deleted originals, leftovers of crashes. The paths
+ * referenced by projects and stored_files are streamed into a sorted array of
+ * 64-bit fingerprints (8 bytes per path), then the store is listed page by page and
+ * every blob older than app.upload.gc.grace-minutes that is not in the set is an
+ * orphan. A fingerprint collision can only keep an orphan, never delete a used file.
+ *
+ * Orphans are deleted in batches of app.upload.gc.batch-size with a pause between
+ * batches, after checking them again against the database. Freed space is exported
+ * as the uploads.gc.reclaimed metric (bytes). Cached previews of a deleted PDF are
+ * deleted with it.
+ */
+@Service
+public class UploadGarbageCollector {
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private PdfPreviewService pdfPreviewService;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.upload.gc.grace-minutes:1440}")
+    private long graceMinutes;
+
+    @Value("${app.upload.gc.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.upload.gc.batch-pause-ms:500}")
+    private long batchPauseMillis;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter reclaimedBytes;
+    private final Counter deletedFiles;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ThreadPoolExecutor executor;
+
+    public UploadGarbageCollector(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.reclaimedBytes = Counter.builder("uploads.gc.reclaimed")
+                .baseUnit("bytes")
+                .description("Disk / bucket space freed by deleting orphaned uploads")
+                .register(meterRegistry);
+        this.deletedFiles = Counter.builder("uploads.gc.deleted")
+                .description("Orphaned uploads deleted")
+                .register(meterRegistry);
+        // Thread dédié: une passe longue (pauses entre lots) ne bloque pas les autres tâches planifiées
+        this.executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "upload-gc");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.upload.gc.interval-ms:21600000}",
+            initialDelayString = "${app.upload.gc.initial-delay-ms:600000}")
+    public void scheduleCollect() {
+        if (running.get()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    collect();
+                } catch (Exception e) {
+                    System.err.println("❌ Upload GC failed: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Passe déjà en attente
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * One full pass; does nothing if a pass is already running
+     *
+     * @return bytes reclaimed
+     */
+    public long collect() throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            long cutoff = start - graceMinutes * 60_000;
+
+            FingerprintSet referenced = readOnlyTransaction.execute(status -> loadReferences());
+
+            Batch batch = new Batch();
+            long[] scanned = new long[1];
+            blobStore.list((key, info) -> {
+                scanned[0]++;
+                if (info.getLastModified() < cutoff && !referenced.contains(key)) {
+                    batch.orphans.put(key, info.getSize());
+                    if (batch.orphans.size() >= batchSize) {
+                        deleteBatch(batch);
+                    }
+                }
+            });
+            deleteBatch(batch);
+
+            batch.reclaimed += deleteStaleTempFiles(cutoff);
+
+            if (batch.deleted > 0) {
+                System.out.println("🧹 Upload GC: " + batch.deleted + " orphaned file(s) deleted, " + batch.reclaimed
+                        + " bytes reclaimed (" + scanned[0] + " scanned, " + referenced.size() + " referenced, "
+                        + (System.currentTimeMillis() - start) + " ms)");
+            }
+            return batch.reclaimed;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private FingerprintSet loadReferences() {
+        FingerprintSet set = new FingerprintSet();
+        try (Stream<Object[]> rows = projectRepository.streamFileReferences()) {
+            rows.forEach(row -> {
+                for (Object path : row) {
+                    set.add((String) path);
+                }
+            });
+        }
+        // Les fichiers comptés appartiennent au ménage de FileStorageService (verrou de ligne)
+        try (Stream<String> paths = storedFileRepository.streamPaths()) {
+            paths.forEach(set::add);
+        }
+        set.seal();
+        return set;
+    }
+
+    /**
+     * Check the candidates again (a project may have picked one up since the set was
+     * built), delete the others, then pause
+     */
+    private void deleteBatch(Batch batch) throws IOException {
+        if (batch.orphans.isEmpty()) {
+            return;
+        }
+        Set<String> stillReferenced = new HashSet<>(storedFileRepository.findPathsIn(batch.orphans.keySet()));
+        for (Object[] row : projectRepository.findFileReferencesIn(batch.orphans.keySet())) {
+            for (Object path : row) {
+                if (path != null) {
+                    stillReferenced.add((String) path);
+                }
+            }
+        }
+
+        for (Map.Entry<String, Long> orphan : batch.orphans.entrySet()) {
+            if (stillReferenced.contains(orphan.getKey())) {
+                continue;
+            }
+            try {
+                blobStore.delete(orphan.getKey());
+                if (orphan.getKey().endsWith(".pdf")) {
+                    pdfPreviewService.deletePreviews(orphan.getKey());
+                }
+                batch.deleted++;
+                batch.reclaimed += orphan.getValue();
+                deletedFiles.increment();
+                reclaimedBytes.increment(orphan.getValue());
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("❌ Upload GC could not delete " + orphan.getKey() + ": " + e.getMessage());
+            }
+        }
+        batch.orphans.clear();
+
+        // Étalement des suppressions: le disque / le bucket reste disponible pour les requêtes
+        try {
+            Thread.sleep(batchPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Upload GC interrupted");
+        }
+    }
+
+    /**
+     * Temporary files of uploads interrupted by a crash
+     */
+    private long deleteStaleTempFiles(long cutoff) throws IOException {
+        Path tempDir = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(FileStorageService.TEMP_DIR);
+        if (!Files.isDirectory(tempDir)) {
+            return 0;
+        }
+        long reclaimed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(tempDir)) {
+            for (Path file : files) {
+                try {
+                    if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                        long size = Files.size(file);
+                        Files.delete(file);
+                        reclaimed += size;
+                        reclaimedBytes.increment(size);
+                    }
+                } catch (IOException e) {
+                    // Supprimé entre-temps
+                }
+            }
+        }
+        return reclaimed;
+    }
+
+    private static final class Batch {
+        private final Map<String, Long> orphans = new LinkedHashMap<>();
+        private long deleted;
+        private long reclaimed;
+    }
+
+    /**
+     * Set of strings stored as sorted 64-bit fingerprints (first bytes of their SHA-256):
+     * 8 bytes per entry instead of a String in a HashSet
+     */
+    static final class FingerprintSet {
+        private long[] fingerprints = new long[1024];
+        private int size;
+        private boolean sealed;
+
+        void add(String value) {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            if (sealed) {
+                throw new IllegalStateException("Ensemble déjà figé");
+            }
+            if (size == fingerprints.length) {
+                fingerprints = Arrays.copyOf(fingerprints, size * 2);
+            }
+            fingerprints[size++] = fingerprint(value);
+        }
+
+        void seal() {
+            Arrays.sort(fingerprints, 0, size);
+            sealed = true;
+        }
+
+        boolean contains(String value) {
+            return Arrays.binarySearch(fingerprints, 0, size, fingerprint(value)) >= 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private static long fingerprint(String value) {
+            byte[] hash;
+            try {
+                hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            long fingerprint = 0;
+            for (int i = 0; i < 8; i++) {
+                fingerprint = (fingerprint << 8) | (hash[i] & 0xFF);
+            }
+            return fingerprint;
+        }
+    }
+}
@@ -1,33 +1,75 @@
 package com.regioninvest.service;
 
 import com.regioninvest.dto.RegisterRequest;
+import com.regioninvest.dto.UserDTO;
+import com.regioninvest.entity.PasswordResetToken;
 import com.regioninvest.entity.Role;
 import com.regioninvest.entity.User;
+import com.regioninvest.repository.PasswordResetTokenRepository;
 import com.regioninvest.repository.RoleRepository;
 import com.regioninvest.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class UserService implements UserDetailsService {
 
+    private static final int RESET_SWEEP_BATCH_SIZE = 500;
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Value("${app.frontend-url:http://localhost:3000}")
+    private String frontendUrl;
+
+    @Value("${app.password-reset.validity-hours:24}")
+    private long resetTokenValidityHours;
+
+    @Value("${app.user-cache.ttl-seconds:300}")
+    private long userCacheTtlSeconds;
+
+    // username -> cached read-only view, used by token validation endpoints
+    private final ConcurrentHashMap<String, CachedUser> userCache = new ConcurrentHashMap<>();
+
+    // Hash checked when the email is unknown, so both paths cost one BCrypt verification
+    private volatile String dummyPasswordHash;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
@@ -56,6 +98,59 @@ public class UserService implements UserDetailsService {
         return user;
     }
 
+    /**
+     * 🔐 Login path: load user + role in one query, verify the password, return the entity.
+     * Replaces AuthenticationManager + two extra lookups in AuthController.
+     */
+    public User authenticate(String email, String rawPassword) {
+        Optional<User> userOpt = userRepository.findByEmailWithRole(email);
+
+        if (userOpt.isEmpty()) {
+            // Burn the same BCrypt cost as a real check to avoid leaking which emails exist
+            passwordEncoder.matches(rawPassword, getDummyPasswordHash());
+            throw new BadCredentialsException("Invalid email or password");
+        }
+
+        User user = userOpt.get();
+
+        if (!passwordEncoder.matches(rawPassword, user.getPasswordHash())) {
+            throw new BadCredentialsException("Invalid email or password");
+        }
+
+        if (!user.getIsEnabled()) {
+            throw new DisabledException("User account is disabled: " + email);
+        }
+
+        userCache.put(user.getUsername(), new CachedUser(UserDTO.from(user), expiryFromNow()));
+
+        return user;
+    }
+
+    /**
+     * Cached read-only user lookup by username (TTL: app.user-cache.ttl-seconds)
+     */
+    public Optional<UserDTO> findCachedByUsername(String username) {
+        CachedUser cached = userCache.get(username);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            return Optional.of(cached.user);
+        }
+
+        Optional<UserDTO> loaded = userRepository.findByUsernameWithRole(username).map(UserDTO::from);
+        if (loaded.isPresent()) {
+            userCache.put(username, new CachedUser(loaded.get(), expiryFromNow()));
+        } else {
+            userCache.remove(username);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop a user from the cache after a change to their account
+     */
+    public void evictCachedUser(String username) {
+        userCache.remove(username);
+    }
+
     /**
      * Register user with default USER role
      */
@@ -96,23 +191,34 @@ public class UserService implements UserDetailsService {
     }
 
     /**
-     * Initiate password reset
+     * Initiate password reset: store only the SHA-256 hash of a random token
      */
+    @Transactional
     public boolean initiatePasswordReset(String email) {
         Optional<User> userOpt = userRepository.findByEmail(email);
 
         if (userOpt.isPresent()) {
             User user = userOpt.get();
 
-            // Generate reset token
-            String resetToken = UUID.randomUUID().toString();
-            user.setResetToken(resetToken);
-            user.setResetTokenExpiry(LocalDateTime.now().plusHours(24)); // 24 hour expiry
-
-            userRepository.save(user);
+            // One live token per user
+            passwordResetTokenRepository.deleteByUserId(user.getId());
 
-            // For now, just log the token (remove in production)
-            System.out.println("🔑 Password reset token for " + email + ": " + resetToken);
+            // Generate reset token
+            String resetToken = generateResetToken();
+            passwordResetTokenRepository.save(new PasswordResetToken(
+                    hashResetToken(resetToken), user,
+                    LocalDateTime.now().plusHours(resetTokenValidityHours)));
+
+            // Queued in the same transaction as the token: both commit or neither does
+            mailOutboxService.enqueue(user.getEmail(),
+                    "Réinitialisation de votre mot de passe",
+                    "Bonjour " + user.getUsername() + ",\n\n"
+                            + "Pour réinitialiser votre mot de passe, cliquez sur le lien suivant (valable "
+                            + resetTokenValidityHours + " heures) :\n"
+                            + frontendUrl + "/reset_password?token=" + resetToken + "\n\n"
+                            + "Si vous n'êtes pas à l'origine de cette demande, ignorez cet email.");
+
+            System.out.println("📧 Password reset email queued for " + email);
 
             return true;
         }
@@ -122,24 +228,28 @@ public class UserService implements UserDetailsService {
     }
 
     /**
-     * Reset password with token
+     * Reset password with token (single use, consumed atomically)
      */
+    @Transactional
     public boolean resetPassword(String token, String newPassword) {
-        Optional<User> userOpt = userRepository.findByResetToken(token);
+        if (token == null || token.isBlank()) {
+            return false;
+        }
 
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
+        Optional<PasswordResetToken> tokenOpt =
+                passwordResetTokenRepository.findByTokenHashWithUser(hashResetToken(token));
+
+        if (tokenOpt.isPresent()) {
+            PasswordResetToken resetToken = tokenOpt.get();
 
-            // Check if token is not expired
-            if (user.getResetTokenExpiry() != null &&
-                    user.getResetTokenExpiry().isAfter(LocalDateTime.now())) {
+            // Only the request that actually deletes the row may use it
+            if (passwordResetTokenRepository.consumeIfValid(resetToken.getId(), LocalDateTime.now()) == 1) {
+                User user = resetToken.getUser();
 
                 // Reset password
                 user.setPasswordHash(passwordEncoder.encode(newPassword));
-                user.setResetToken(null);
-                user.setResetTokenExpiry(null);
-
                 userRepository.save(user);
+                evictCachedUser(user.getUsername());
 
                 return true;
             }
@@ -148,6 +258,29 @@ public class UserService implements UserDetailsService {
         return false;
     }
 
+    /**
+     * 🧹 Purge expired reset tokens in small batches (keeps each transaction short)
+     */
+    @Scheduled(fixedDelayString = "${app.password-reset.sweep-interval-ms:3600000}",
+            initialDelayString = "${app.password-reset.sweep-initial-delay-ms:60000}")
+    public void purgeExpiredResetTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+
+        List<Long> expiredIds;
+        do {
+            expiredIds = passwordResetTokenRepository.findExpiredIds(now, PageRequest.of(0, RESET_SWEEP_BATCH_SIZE));
+            if (!expiredIds.isEmpty()) {
+                passwordResetTokenRepository.deleteAllByIdInBatch(expiredIds);
+                purged += expiredIds.size();
+            }
+        } while (expiredIds.size() == RESET_SWEEP_BATCH_SIZE);
+
+        if (purged > 0) {
+            System.out.println("🧹 Purged " + purged + " expired password reset tokens");
+        }
+    }
+
     /**
      * Change password (authenticated user)
      */
@@ -163,6 +296,7 @@ public class UserService implements UserDetailsService {
         // Update password
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        evictCachedUser(username);
 
         return true;
     }
@@ -171,8 +305,9 @@ public class UserService implements UserDetailsService {
      * Check if user has specific role
      */
     public boolean hasRole(String username, String roleName) {
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        return userOpt.map(user -> user.getRole().getName().equals(roleName)).orElse(false);
+        return findCachedByUsername(username)
+                .map(user -> roleName.equals(user.getRole()))
+                .orElse(false);
     }
 
     /**
@@ -205,4 +340,42 @@ public class UserService implements UserDetailsService {
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
-}
\ No newline at end of file
+
+    private long expiryFromNow() {
+        return System.currentTimeMillis() + userCacheTtlSeconds * 1000;
+    }
+
+    private String generateResetToken() {
+        byte[] bytes = new byte[32];
+        SECURE_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private String hashResetToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String getDummyPasswordHash() {
+        String hash = dummyPasswordHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyPasswordHash = hash;
+        }
+        return hash;
+    }
+
+    private static final class CachedUser {
+        private final UserDTO user;
+        private final long expiresAt;
+
+        private CachedUser(UserDTO user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
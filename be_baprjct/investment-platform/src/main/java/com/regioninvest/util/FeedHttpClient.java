@@ -0,0 +1,166 @@
+package com.regioninvest.util;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * 🌐 Shared HTTP client for news feeds.
+ *
+ * Pooled keep-alive connections, transparent gzip/deflate, and conditional GETs:
+ * callers pass the ETag / Last-Modified of their previous response and get
+ * {@link FeedResponse#isNotModified()} on 304 without any body being read.
+ */
+@Component
+public class FeedHttpClient {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    public FeedHttpClient(@Value("${app.articles.source-timeout-ms:8000}") long timeoutMillis,
+                          @Value("${app.http.max-connections:20}") int maxConnections,
+                          @Value("${app.http.max-connections-per-route:4}") int maxPerRoute,
+                          @Value("${app.http.user-agent:RegionInvest/2.0 (+https://regioninvest.ma)}") String userAgent) {
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(timeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(timeoutMillis))
+                        .setTimeToLive(TimeValue.ofMinutes(10))
+                        .build())
+                .build();
+
+        // Compression (Accept-Encoding: gzip, deflate) and keep-alive are on by default
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(timeoutMillis))
+                        .build())
+                .setUserAgent(userAgent)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMinutes(2))
+                .build();
+    }
+
+    /**
+     * Conditional GET. The body is only read (by {@code reader}) on 200.
+     *
+     * @param validators validators of the previous successful response, or null
+     * @throws IOException on network errors and non 200/304 statuses
+     */
+    public <T> FeedResponse<T> get(String url, Validators validators, BodyReader<T> reader) throws IOException {
+        HttpGet request = new HttpGet(url);
+        if (validators != null) {
+            if (validators.getEtag() != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, validators.getEtag());
+            }
+            if (validators.getLastModified() != null) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, validators.getLastModified());
+            }
+        }
+
+        return httpClient.execute(request, response -> {
+            int status = response.getCode();
+            if (status == HttpStatus.SC_NOT_MODIFIED) {
+                return FeedResponse.notModified(validators);
+            }
+            if (status != HttpStatus.SC_OK) {
+                throw new IOException("HTTP " + status + " for " + url);
+            }
+
+            HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                throw new IOException("Empty response for " + url);
+            }
+            ContentType contentType = ContentType.parseLenient(entity.getContentType());
+            Charset charset = contentType != null ? contentType.getCharset() : null;
+
+            T body;
+            try (InputStream in = entity.getContent()) {
+                body = reader.read(in, charset);
+            }
+
+            Validators next = new Validators(headerValue(response.getFirstHeader(HttpHeaders.ETAG)),
+                    headerValue(response.getFirstHeader(HttpHeaders.LAST_MODIFIED)));
+            return FeedResponse.ok(body, next);
+        });
+    }
+
+    private static String headerValue(Header header) {
+        return header != null ? header.getValue() : null;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+    }
+
+    /**
+     * Reads a response body; charset is null when the server did not declare one
+     */
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        T read(InputStream in, Charset charset) throws IOException;
+    }
+
+    /**
+     * ETag / Last-Modified of a previous response
+     */
+    public static final class Validators {
+        private final String etag;
+        private final String lastModified;
+
+        public Validators(String etag, String lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public String getEtag() { return etag; }
+        public String getLastModified() { return lastModified; }
+    }
+
+    public static final class FeedResponse<T> {
+        private final T body;
+        private final Validators validators;
+        private final boolean notModified;
+
+        private FeedResponse(T body, Validators validators, boolean notModified) {
+            this.body = body;
+            this.validators = validators;
+            this.notModified = notModified;
+        }
+
+        static <T> FeedResponse<T> ok(T body, Validators validators) {
+            return new FeedResponse<>(body, validators, false);
+        }
+
+        static <T> FeedResponse<T> notModified(Validators validators) {
+            return new FeedResponse<>(null, validators, true);
+        }
+
+        public T getBody() { return body; }
+        public Validators getValidators() { return validators; }
+        public boolean isNotModified() { return notModified; }
+    }
+}
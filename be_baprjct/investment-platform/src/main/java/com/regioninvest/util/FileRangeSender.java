@@ -0,0 +1,205 @@
+package com.regioninvest.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 📤 Sends a file over HTTP with conditional GET and single byte range support.
+ *
+ * If-None-Match / If-Modified-Since answer 304 without touching the file, a
+ * "Range: bytes=" header answers 206 with only the requested part (e.g. PDF
+ * viewers loading pages on demand). Local files are copied with
+ * {@link FileChannel#transferTo}, without an intermediate buffer in the application;
+ * other content is written by a {@link RangeWriter} (e.g. a ranged read from object storage).
+ */
+public final class FileRangeSender {
+
+    private FileRangeSender() {
+    }
+
+    /**
+     * Send the file (or a 304 / 206 / 416); the caller has checked that it exists
+     *
+     * @param cacheControl value of the Cache-Control header, or null
+     */
+    public static void send(HttpServletRequest request, HttpServletResponse response, Path file,
+                            String contentType, String contentDisposition, String cacheControl) throws IOException {
+        send(request, response, Files.size(file), Files.getLastModifiedTime(file).toMillis(),
+                (start, count, out) -> transfer(file, start, count, out), contentType, contentDisposition, cacheControl);
+    }
+
+    /**
+     * Same, for content of the given length and modification date (epoch ms) written by {@code body}
+     */
+    public static void send(HttpServletRequest request, HttpServletResponse response, long length,
+                            long lastModifiedMillis, RangeWriter body, String contentType,
+                            String contentDisposition, String cacheControl) throws IOException {
+        long lastModified = lastModifiedMillis / 1000 * 1000; // HTTP dates are in seconds
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (cacheControl != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(contentType);
+        if (contentDisposition != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        }
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        body.write(start, count, response.getOutputStream());
+    }
+
+    /**
+     * Copy part of a file to a stream with {@link FileChannel#transferTo}
+     */
+    public static void transfer(Path file, long start, long count, OutputStream output) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(output);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break; // fichier tronqué pendant l'envoi
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Writes {@code count} bytes of the content, starting at {@code start}
+     */
+    @FunctionalInterface
+    public interface RangeWriter {
+        void write(long start, long count, OutputStream out) throws IOException;
+    }
+
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match l'emporte sur If-Modified-Since
+            return matchesEtag(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * If-Range: the range is only served if the client's copy is still the current one
+     */
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && lastModified <= date;
+    }
+
+    private static boolean matchesEtag(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || candidate.equals(etag) || candidate.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bounds of a single "bytes=" range: {start, end}, an empty array to send the
+     * whole file (multiple or malformed ranges are ignored), null if not satisfiable
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // "-n": les n derniers octets
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+                if (end < start) {
+                    return last.isEmpty() || Long.parseLong(last) >= start ? null : new long[0];
+                }
+            }
+            if (start >= length) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
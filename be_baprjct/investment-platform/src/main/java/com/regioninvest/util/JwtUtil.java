@@ -45,6 +45,13 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Parse and verify the token once; throws JwtException if invalid or expired
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     private Claims extractAllClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
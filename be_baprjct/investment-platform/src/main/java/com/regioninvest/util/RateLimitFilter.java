@@ -0,0 +1,105 @@
+package com.regioninvest.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 🚦 Per-client rate limiting for expensive public endpoints
+ * (BCrypt login, outbound article refresh, project search, article view counter,
+ * PDF page previews).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Value("${app.ratelimit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        String group = resolveGroup(request);
+
+        if (group != null) {
+            long waitMillis = rateLimiter.tryAcquire(group, clientIp(request));
+            if (waitMillis > 0) {
+                reject(request, response, waitMillis);
+                return;
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Map the request to its rate limit group, or null when the route is not limited
+     */
+    private String resolveGroup(HttpServletRequest request) {
+        String path = request.getServletPath();
+        String method = request.getMethod();
+
+        if ("POST".equals(method) && (path.equals("/api/auth/login") || path.equals("/api/auth/register")
+                || path.equals("/api/auth/forgot-password") || path.equals("/api/auth/reset-password"))) {
+            return RateLimiter.GROUP_AUTH;
+        }
+        if (path.equals("/api/articles/refresh")) {
+            return RateLimiter.GROUP_REFRESH;
+        }
+        if ("GET".equals(method) && path.equals("/api/projects/search")) {
+            return RateLimiter.GROUP_SEARCH;
+        }
+        if ("POST".equals(method) && path.startsWith("/api/articles/") && path.endsWith("/view")) {
+            return RateLimiter.GROUP_VIEW;
+        }
+        if ("GET".equals(method) && path.startsWith("/api/projects/") && path.endsWith("/pdf/preview")) {
+            return RateLimiter.GROUP_PREVIEW;
+        }
+        return null;
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma > 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        long waitMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+
+        response.setStatus(429);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        final Map<String, Object> body = new HashMap<>();
+        body.put("status", 429);
+        body.put("error", "Too Many Requests");
+        body.put("message", "Too many requests, please retry in " + retryAfterSeconds + "s");
+        body.put("path", request.getServletPath());
+
+        mapper.writeValue(response.getOutputStream(), body);
+    }
+}
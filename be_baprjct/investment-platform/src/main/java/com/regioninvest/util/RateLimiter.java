@@ -0,0 +1,165 @@
+package com.regioninvest.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🚦 Token-bucket rate limiter, keyed by route group + client key (IP or email).
+ *
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time"
+ * (GCRA form of the token bucket), so acquiring a token is one CAS with no lock.
+ * Buckets live in ConcurrentHashMap stripes and idle (fully refilled) buckets
+ * are evicted periodically so memory stays bounded under IP churn.
+ */
+@Component
+public class RateLimiter {
+
+    public static final String GROUP_AUTH = "auth";
+    public static final String GROUP_LOGIN_ACCOUNT = "login-account";
+    public static final String GROUP_REFRESH = "refresh";
+    public static final String GROUP_SEARCH = "search";
+    public static final String GROUP_VIEW = "view";
+    public static final String GROUP_PREVIEW = "preview";
+
+    private static final int STRIPES = 16;
+
+    @Value("${app.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.ratelimit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${app.ratelimit.auth.capacity:10}")
+    private int authCapacity;
+
+    @Value("${app.ratelimit.auth.refill-per-minute:10}")
+    private int authRefillPerMinute;
+
+    @Value("${app.ratelimit.login-account.capacity:5}")
+    private int loginAccountCapacity;
+
+    @Value("${app.ratelimit.login-account.refill-per-minute:5}")
+    private int loginAccountRefillPerMinute;
+
+    @Value("${app.ratelimit.refresh.capacity:2}")
+    private int refreshCapacity;
+
+    @Value("${app.ratelimit.refresh.refill-per-minute:2}")
+    private int refreshRefillPerMinute;
+
+    @Value("${app.ratelimit.search.capacity:30}")
+    private int searchCapacity;
+
+    @Value("${app.ratelimit.search.refill-per-minute:60}")
+    private int searchRefillPerMinute;
+
+    @Value("${app.ratelimit.view.capacity:20}")
+    private int viewCapacity;
+
+    @Value("${app.ratelimit.view.refill-per-minute:30}")
+    private int viewRefillPerMinute;
+
+    @Value("${app.ratelimit.preview.capacity:60}")
+    private int previewCapacity;
+
+    @Value("${app.ratelimit.preview.refill-per-minute:120}")
+    private int previewRefillPerMinute;
+
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes = new ConcurrentHashMap[STRIPES];
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        limits.put(GROUP_AUTH, new Limit(authCapacity, authRefillPerMinute));
+        limits.put(GROUP_LOGIN_ACCOUNT, new Limit(loginAccountCapacity, loginAccountRefillPerMinute));
+        limits.put(GROUP_REFRESH, new Limit(refreshCapacity, refreshRefillPerMinute));
+        limits.put(GROUP_SEARCH, new Limit(searchCapacity, searchRefillPerMinute));
+        limits.put(GROUP_VIEW, new Limit(viewCapacity, viewRefillPerMinute));
+        limits.put(GROUP_PREVIEW, new Limit(previewCapacity, previewRefillPerMinute));
+    }
+
+    /**
+     * Try to take one token for the given group and key.
+     *
+     * @return 0 if the request is allowed, otherwise the number of milliseconds
+     *         until the next token becomes available
+     */
+    public long tryAcquire(String group, String key) {
+        Limit limit = limits.get(group);
+        if (!enabled || limit == null || key == null) {
+            return 0;
+        }
+
+        String bucketKey = group + ':' + key;
+        ConcurrentHashMap<String, AtomicLong> stripe = stripeFor(bucketKey);
+        long now = System.nanoTime();
+
+        AtomicLong bucket = stripe.get(bucketKey);
+        if (bucket == null) {
+            if (stripe.size() >= maxKeys / STRIPES) {
+                evictIdle(stripe, now);
+            }
+            bucket = stripe.computeIfAbsent(bucketKey, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long tat = bucket.get();
+            long start = Math.max(tat, now);
+            long waitNanos = start - now - limit.burstNanos;
+            if (waitNanos > 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+            if (bucket.compareAndSet(tat, start + limit.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Periodically drop idle (fully refilled) buckets
+     */
+    @Scheduled(fixedDelayString = "${app.ratelimit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            evictIdle(stripe, now);
+        }
+    }
+
+    private void evictIdle(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        // A bucket whose theoretical arrival time is in the past is full again:
+        // dropping it is indistinguishable from keeping it.
+        stripe.entrySet().removeIf(entry -> entry.getValue().get() <= now);
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripeFor(String bucketKey) {
+        int h = bucketKey.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (STRIPES - 1)];
+    }
+
+    /**
+     * Capacity + refill rate of one route group
+     */
+    private static final class Limit {
+        private final long intervalNanos;
+        private final long burstNanos;
+
+        private Limit(int capacity, int refillPerMinute) {
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute);
+            this.burstNanos = intervalNanos * Math.max(0, capacity - 1);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.regioninvest.util;
+
+import org.jsoup.parser.Parser;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * 📰 Streaming (StAX) parser for RSS 2.0 and RSS 1.0 / RDF feeds.
+ *
+ * Items are handed to the callback one at a time as soon as their closing tag is
+ * read, so memory stays bounded by one item whatever the feed size. Only item
+ * level title / link / description / pubDate / dc:date are read; channel fields
+ * and unknown elements are skipped.
+ */
+public final class RssFeedParser {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private static final String RSS_1_NAMESPACE = "http://purl.org/rss/1.0/";
+    private static final String DUBLIN_CORE_NAMESPACE = "http://purl.org/dc/elements/1.1/";
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // RFC 822 as found in the wild: optional day name, 2 or 4 digit year, optional seconds, offset or zone name
+    private static final List<DateTimeFormatter> RFC_822_FORMATS = List.of(
+            DateTimeFormatter.RFC_1123_DATE_TIME,
+            new DateTimeFormatterBuilder().parseCaseInsensitive()
+                    .appendPattern("[EEE, ]d MMM yyyy HH:mm[:ss] ")
+                    .optionalStart().appendOffset("+HHMM", "Z").optionalEnd()
+                    .optionalStart().appendZoneText(TextStyle.SHORT).optionalEnd()
+                    .toFormatter(Locale.ENGLISH),
+            new DateTimeFormatterBuilder().parseCaseInsensitive()
+                    .appendPattern("[EEE, ]d MMM yy HH:mm[:ss] ")
+                    .optionalStart().appendOffset("+HHMM", "Z").optionalEnd()
+                    .optionalStart().appendZoneText(TextStyle.SHORT).optionalEnd()
+                    .toFormatter(Locale.ENGLISH)
+    );
+
+    private final int maxItems;
+    private final int maxFieldLength;
+
+    public RssFeedParser(int maxItems, int maxFieldLength) {
+        this.maxItems = maxItems;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Parse the feed and call {@code onItem} for each item
+     *
+     * @param charset declared by the HTTP response, or null to use the XML prolog
+     * @return number of items emitted
+     */
+    public int parse(InputStream in, Charset charset, Consumer<FeedItem> onItem) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = charset != null
+                    ? XML_INPUT_FACTORY.createXMLStreamReader(in, charset.name())
+                    : XML_INPUT_FACTORY.createXMLStreamReader(in);
+
+            int emitted = 0;
+            FeedItem item = null;
+            StringBuilder text = new StringBuilder();
+            String field = null;
+
+            while (reader.hasNext() && emitted < maxItems) {
+                int event = reader.next();
+
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("item".equals(name)) {
+                        item = new FeedItem();
+                    } else if (item != null && field == null && isItemField(name, reader.getNamespaceURI())) {
+                        field = name;
+                        text.setLength(0);
+                    }
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    if (field != null && text.length() < maxFieldLength) {
+                        text.append(reader.getTextCharacters(), reader.getTextStart(),
+                                Math.min(reader.getTextLength(), maxFieldLength - text.length()));
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (field != null && field.equals(name)) {
+                        item.set(field, text.toString());
+                        field = null;
+                    } else if ("item".equals(name) && item != null) {
+                        onItem.accept(item);
+                        emitted++;
+                        item = null;
+                    }
+                }
+            }
+            return emitted;
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid feed: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // stream is closed by the caller
+                }
+            }
+        }
+    }
+
+    /**
+     * RSS 2.0 elements have no namespace, RSS 1.0 ones the RDF site summary namespace;
+     * this skips look-alikes such as atom:link or media:title
+     */
+    private static boolean isItemField(String name, String namespace) {
+        if ("date".equals(name)) {
+            return DUBLIN_CORE_NAMESPACE.equals(namespace);
+        }
+        boolean rssNamespace = namespace == null || namespace.isEmpty() || RSS_1_NAMESPACE.equals(namespace);
+        return rssNamespace && ("title".equals(name) || "link".equals(name)
+                || "description".equals(name) || "pubDate".equals(name));
+    }
+
+    /**
+     * 📅 RSS pubDate (RFC 822) or dc:date (ISO 8601), in server local time; null if unparseable
+     */
+    public static LocalDateTime parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String date = WHITESPACE.matcher(value.trim()).replaceAll(" ");
+
+        try {
+            return OffsetDateTime.parse(date).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            // not ISO 8601 with offset
+        }
+        for (DateTimeFormatter format : RFC_822_FORMATS) {
+            try {
+                return ZonedDateTime.parse(date, format).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            } catch (DateTimeParseException e) {
+                // try next format
+            }
+        }
+        try {
+            return LocalDateTime.parse(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Plain text of a (possibly HTML) description
+     */
+    static String toPlainText(String html) {
+        String text = HTML_TAG.matcher(html).replaceAll(" ");
+        text = Parser.unescapeEntities(text, false);
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // No DTDs or external entities (XXE)
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * One feed item, fields as read from the XML (description as plain text)
+     */
+    public static final class FeedItem {
+        private String title;
+        private String link;
+        private String description;
+        private String pubDate;
+
+        private void set(String field, String value) {
+            String trimmed = value.trim();
+            if (trimmed.isEmpty()) {
+                return;
+            }
+            switch (field) {
+                case "title":
+                    title = toPlainText(trimmed);
+                    break;
+                case "link":
+                    link = trimmed;
+                    break;
+                case "description":
+                    description = toPlainText(trimmed);
+                    break;
+                case "pubDate":
+                    // pubDate (RSS 2.0) wins over dc:date (RDF)
+                    pubDate = trimmed;
+                    break;
+                case "date":
+                    if (pubDate == null) {
+                        pubDate = trimmed;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        public String getTitle() { return title; }
+        public String getLink() { return link; }
+        public String getDescription() { return description; }
+        public String getPubDate() { return pubDate; }
+    }
+}
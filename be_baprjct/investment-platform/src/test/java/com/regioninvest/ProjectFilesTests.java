@@ -0,0 +1,61 @@
+package com.regioninvest;
+
+import com.regioninvest.dto.ProjectCreateRequest;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+
+/**
+ * Shared context and fixtures of the tests that create projects with files
+ * (one Spring context, one upload directory, MockMvc for the endpoints)
+ */
+@SpringBootTest(properties = {
+		"app.upload.dir=" + ProjectFilesTests.UPLOAD_DIR,
+		"app.projects.submissions.poll-initial-delay-ms=3600000"
+})
+@AutoConfigureMockMvc
+public abstract class ProjectFilesTests {
+
+	protected static final String UPLOAD_DIR = "target/test-project-uploads";
+
+	protected static ProjectCreateRequest projectRequest(String title) {
+		ProjectCreateRequest request = new ProjectCreateRequest();
+		request.setTitle(title);
+		request.setDescription("Description suffisamment longue pour la validation du projet");
+		request.setSector("Agriculture");
+		request.setLocation("Figuig");
+		request.setProvince("Figuig");
+		request.setBudget(new BigDecimal("4.0"));
+		request.setJobs(8);
+		request.setPublishTime("10:00");
+		return request;
+	}
+
+	/**
+	 * One A4 page PDF with a line of text
+	 */
+	protected static byte[] pdf(String text) throws Exception {
+		try (PDDocument document = new PDDocument()) {
+			PDPage page = new PDPage(PDRectangle.A4);
+			document.addPage(page);
+			try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+				content.beginText();
+				content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+				content.newLineAtOffset(72, 700);
+				content.showText(text);
+				content.endText();
+			}
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			document.save(bytes);
+			return bytes.toByteArray();
+		}
+	}
+}
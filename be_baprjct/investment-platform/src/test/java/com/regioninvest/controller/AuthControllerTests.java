@@ -0,0 +1,46 @@
+package com.regioninvest.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.articles.refresh-initial-delay-ms=3600000")
+@AutoConfigureMockMvc
+class AuthControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void loginAttemptsAreLimitedPerAccountAcrossAddresses() throws Exception {
+		// Une adresse par essai: seule la limite par compte (5 essais) s'applique
+		for (int i = 0; i < 5; i++) {
+			login("Porteur1@Example.com", "10.0.2." + i).andExpect(status().isBadRequest());
+		}
+		login("porteur1@example.com", "10.0.2.99")
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists("Retry-After"))
+				.andExpect(jsonPath("$.error").exists());
+
+		login("user1@example.com", "10.0.2.99").andExpect(status().isBadRequest());
+	}
+
+	private ResultActions login(String email, String ip) throws Exception {
+		return mockMvc.perform(post("/api/auth/login")
+				.with(request -> {
+					request.setRemoteAddr(ip);
+					return request;
+				})
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"" + email + "\",\"password\":\"wrong-password\"}"));
+	}
+}
@@ -0,0 +1,152 @@
+package com.regioninvest.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regioninvest.ProjectFilesTests;
+import com.regioninvest.dto.ProjectDTO;
+import com.regioninvest.service.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithMockUser(username = "porteur1", roles = "PORTEUR")
+class ChunkedUploadControllerTests extends ProjectFilesTests {
+
+	private static final int CHUNK = 400;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Test
+	void resumesFromTheReceivedCountAndAttachesTheFile() throws Exception {
+		Long projectId = createProject("Dossier par morceaux");
+		byte[] content = pdf("Dossier technique complet envoyé par morceaux");
+		String uploadId = init(projectId, "pdf", "application/pdf", content, sha256(content));
+
+		chunk(uploadId, 0, content, 0, CHUNK).andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.received").value(CHUNK));
+		// Réponse perdue: le même morceau est renvoyé
+		chunk(uploadId, 0, content, 0, CHUNK).andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.received").value(CHUNK));
+		// Morceau suivant sauté: refusé, le client apprend où reprendre
+		chunk(uploadId, 2 * CHUNK, content, 2 * CHUNK, content.length).andExpect(status().isConflict())
+				.andExpect(jsonPath("$.data.received").value(CHUNK));
+
+		mockMvc.perform(get("/api/projects/uploads/" + uploadId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.received").value(CHUNK));
+		chunk(uploadId, CHUNK, content, CHUNK, content.length).andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.received").value(content.length));
+
+		String pdfUrl = data(mockMvc.perform(post("/api/projects/uploads/" + uploadId + "/complete"))
+				.andExpect(status().isOk())).get("pdfUrl").asText();
+		assertTrue(pdfUrl.matches("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.pdf"));
+		assertArrayEquals(content, Files.readAllBytes(Paths.get(UPLOAD_DIR).resolve(pdfUrl)));
+		mockMvc.perform(get("/api/projects/uploads/" + uploadId)).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void checksumMismatchDiscardsTheUpload() throws Exception {
+		Long projectId = createProject("Dossier corrompu");
+		byte[] content = pdf("Dossier dont un octet a changé en route");
+		byte[] announced = Arrays.copyOf(content, content.length);
+		announced[announced.length / 2] ^= 1;
+		String uploadId = init(projectId, "pdf", "application/pdf", content, sha256(announced));
+
+		chunk(uploadId, 0, content, 0, content.length).andExpect(status().isOk());
+		mockMvc.perform(post("/api/projects/uploads/" + uploadId + "/complete"))
+				.andExpect(status().isUnprocessableEntity());
+		mockMvc.perform(get("/api/projects/uploads/" + uploadId)).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void keepsTheVerifiedUploadWhenAttachingFails() throws Exception {
+		Long projectId = createProject("Dossier d'un projet supprimé");
+		byte[] content = pdf("Dossier reçu en entier");
+		String uploadId = init(projectId, "pdf", "application/pdf", content, sha256(content));
+		chunk(uploadId, 0, content, 0, content.length).andExpect(status().isOk());
+
+		projectService.deleteProject(projectId, "porteur1");
+		mockMvc.perform(post("/api/projects/uploads/" + uploadId + "/complete"))
+				.andExpect(status().isNotFound());
+
+		mockMvc.perform(get("/api/projects/uploads/" + uploadId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.received").value(content.length));
+		mockMvc.perform(delete("/api/projects/uploads/" + uploadId)).andExpect(status().isOk());
+	}
+
+	@Test
+	void rejectsAContentTypeThatDoesNotMatchTheKind() throws Exception {
+		Long projectId = createProject("Dossier mal typé");
+		byte[] content = pdf("<script>alert(1)</script>");
+
+		request(projectId, "pdf", "text/html", content, sha256(content)).andExpect(status().isBadRequest());
+		request(projectId, "image", "application/pdf", content, sha256(content)).andExpect(status().isBadRequest());
+	}
+
+	private Long createProject(String title) {
+		ProjectDTO project = projectService.createProject(projectRequest(title), null, null, "porteur1");
+		return project.getId();
+	}
+
+	private String init(Long projectId, String kind, String contentType, byte[] content, String sha256) throws Exception {
+		return data(request(projectId, kind, contentType, content, sha256).andExpect(status().isCreated()))
+				.get("uploadId").asText();
+	}
+
+	private ResultActions request(Long projectId, String kind, String contentType, byte[] content, String sha256)
+			throws Exception {
+		Map<String, Object> body = new HashMap<>();
+		body.put("projectId", projectId);
+		body.put("kind", kind);
+		body.put("fileName", "dossier.pdf");
+		body.put("contentType", contentType);
+		body.put("size", content.length);
+		body.put("sha256", sha256);
+		return mockMvc.perform(post("/api/projects/uploads")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(body)));
+	}
+
+	private ResultActions chunk(String uploadId, long offset, byte[] content, int from, int to) throws Exception {
+		return mockMvc.perform(put("/api/projects/uploads/" + uploadId)
+				.param("offset", String.valueOf(offset))
+				.contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.content(Arrays.copyOfRange(content, from, to)));
+	}
+
+	private JsonNode data(ResultActions result) throws Exception {
+		return objectMapper.readTree(result.andReturn().getResponse().getContentAsByteArray()).get("data");
+	}
+
+	private static String sha256(byte[] content) throws Exception {
+		return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+	}
+}
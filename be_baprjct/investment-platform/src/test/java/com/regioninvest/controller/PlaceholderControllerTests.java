@@ -0,0 +1,38 @@
+package com.regioninvest.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PlaceholderControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void servesCacheableSvgWithoutAuthentication() throws Exception {
+		mockMvc.perform(get("/api/placeholder/400/250"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("image/svg+xml"))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"placeholder-400x250\""))
+				.andExpect(content().string(containsString("width=\"400\" height=\"250\"")));
+
+		mockMvc.perform(get("/api/placeholder/400/250").header(HttpHeaders.IF_NONE_MATCH, "\"placeholder-400x250\""))
+				.andExpect(status().isNotModified());
+
+		mockMvc.perform(get("/api/placeholder/0/250"))
+				.andExpect(status().isBadRequest());
+	}
+}
@@ -0,0 +1,41 @@
+package com.regioninvest.controller;
+
+import com.regioninvest.ProjectFilesTests;
+import com.regioninvest.dto.ProjectDTO;
+import com.regioninvest.service.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProjectControllerTests extends ProjectFilesTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Test
+	void advertisedPdfPreviewIsServedWithoutAuthentication() throws Exception {
+		ProjectDTO project = projectService.createProject(projectRequest("Ferme solaire de Tafilalet"), null,
+				new MockMultipartFile("pdfFile", "fiche.pdf", "application/pdf", pdf("Fiche de présentation")), "porteur1");
+		URI preview = URI.create(project.getPdfPreviewUrl());
+
+		mockMvc.perform(get(preview.getPath() + "?" + preview.getQuery()))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.IMAGE_JPEG))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"));
+		mockMvc.perform(get(preview.getPath() + "?page=1&v=0000000000000000"))
+				.andExpect(status().isFound());
+	}
+}
@@ -0,0 +1,59 @@
+package com.regioninvest.controller;
+
+import com.regioninvest.ProjectFilesTests;
+import com.regioninvest.entity.ProjectSubmission;
+import com.regioninvest.entity.SubmissionStatus;
+import com.regioninvest.repository.ProjectRepository;
+import com.regioninvest.service.ProjectService;
+import com.regioninvest.service.ProjectSubmissionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithMockUser(username = "porteur1", roles = "PORTEUR")
+class ProjectSubmissionControllerTests extends ProjectFilesTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ProjectSubmissionService projectSubmissionService;
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Test
+	void pollingACompletedSubmissionNeitherCountsViewsNorFailsOnceTheProjectIsGone() throws Exception {
+		String id = projectSubmissionService.submit(projectRequest("Soumission suivie"), null, null, "porteur1").getId();
+		ProjectSubmission submission = projectSubmissionService.getSubmission(id, "porteur1");
+		for (int i = 0; i < 100 && submission.getStatus() != SubmissionStatus.COMPLETED; i++) {
+			Thread.sleep(100);
+			submission = projectSubmissionService.getSubmission(id, "porteur1");
+		}
+		Long projectId = submission.getProjectId();
+		int views = projectRepository.findById(projectId).orElseThrow().getViews();
+
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get("/api/projects/submissions/" + id))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.data.status").value("COMPLETED"))
+					.andExpect(jsonPath("$.data.project.id").value(projectId));
+		}
+		assertEquals(views, projectRepository.findById(projectId).orElseThrow().getViews());
+
+		projectService.deleteProject(projectId, "porteur1");
+		mockMvc.perform(get("/api/projects/submissions/" + id))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.projectId").value(projectId))
+				.andExpect(jsonPath("$.data.project").doesNotExist());
+	}
+}
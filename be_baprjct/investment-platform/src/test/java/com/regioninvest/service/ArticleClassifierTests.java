@@ -0,0 +1,43 @@
+package com.regioninvest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArticleClassifierTests {
+
+	private final ArticleClassifier classifier = new ArticleClassifier();
+
+	@BeforeEach
+	void loadDictionary() throws Exception {
+		ReflectionTestUtils.setField(classifier, "keywordsResource", new ClassPathResource("article-keywords.txt"));
+		classifier.loadDictionary();
+	}
+
+	@Test
+	void classifiesInOnePassAcrossTitleAndDescription() {
+		ArticleClassifier.Classification classification = classifier.classify(
+				"Nouveau PROJET de FinTech à Rabat", "La banque finance une centrale d'ÉNERGIE solaire");
+
+		assertTrue(classification.isRelevant());
+		// énergie has priority over finance (banque)
+		assertEquals("Énergie renouvelable", classification.getSector());
+		assertEquals(List.of("énergie", "projet", "technologie", "finance", "maroc"), classification.getTags());
+	}
+
+	@Test
+	void irrelevantArticleGetsDefaults() {
+		ArticleClassifier.Classification classification = classifier.classify("Match de football au stade", null);
+
+		assertFalse(classification.isRelevant());
+		assertEquals("Économie générale", classification.getSector());
+		assertEquals(List.of("maroc", "actualité"), classification.getTags());
+	}
+}
@@ -0,0 +1,48 @@
+package com.regioninvest.service;
+
+import com.regioninvest.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArticleDeduplicatorTests {
+
+	private final ArticleDeduplicator deduplicator = new ArticleDeduplicator();
+
+	@BeforeEach
+	void setUp() {
+		ArticleRepository repository = mock(ArticleRepository.class);
+		when(repository.findActiveForDedup(any())).thenReturn(List.of());
+		ReflectionTestUtils.setField(deduplicator, "articleRepository", repository);
+		ReflectionTestUtils.setField(deduplicator, "threshold", 0.5);
+		ReflectionTestUtils.setField(deduplicator, "windowDays", 7);
+	}
+
+	@Test
+	void findsTheSameStoryWithADifferentTitle() {
+		deduplicator.add(1L, deduplicator.fingerprint("Morocco: BMCE Bank to Invest $1 Billion in Solar Energy"), 100);
+		deduplicator.add(2L, deduplicator.fingerprint("Nouveau port de Dakhla: début des travaux"), 100);
+
+		ArticleDeduplicator.Match match = deduplicator.findDuplicate(
+				deduplicator.fingerprint("BMCE Bank invests 1 billion dollars in solar energy"));
+		assertNotNull(match);
+		assertEquals(1L, match.getId());
+
+		assertNull(deduplicator.findDuplicate(
+				deduplicator.fingerprint("La BMCE ouvre une agence à Tanger")));
+	}
+
+	@Test
+	void shortTitlesAreNotCompared() {
+		assertNull(deduplicator.fingerprint("Maroc: économie"));
+	}
+}
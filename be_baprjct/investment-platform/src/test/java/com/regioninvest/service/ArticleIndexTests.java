@@ -0,0 +1,59 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.ArticleDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArticleIndexTests {
+
+	private final List<ArticleDTO> articles = List.of(
+			article(1L, "Parc solaire à Ouarzazate", "Investissement de 2 milliards", "Énergie renouvelable", true, "énergie", "maroc"),
+			article(2L, "Banque et FinTech", "Nouveau fonds d'investissement", "Finance et Investissement", false, "finance", "maroc"),
+			article(3L, "Hôtels à Marrakech", "Le tourisme repart", "Tourisme", true, "maroc"));
+
+	private final ArticleIndex index = new ArticleIndex(articles);
+
+	@Test
+	void searchMatchesSubstringScan() {
+		for (String term : List.of("investissement", "INVEST", "à", "ouarz", "tech", "absent", "ment de 2")) {
+			List<ArticleDTO> expected = articles.stream()
+					.filter(a -> a.getTitle().toLowerCase().contains(term.toLowerCase())
+							|| a.getContent().toLowerCase().contains(term.toLowerCase()))
+					.collect(Collectors.toList());
+			assertEquals(ids(expected), ids(index.search(term)), term);
+		}
+	}
+
+	@Test
+	void precomputesSectorsTagsAndStatistics() {
+		assertEquals(List.of(2L), ids(index.bySector("finance")));
+		// "e" matches every sector: merged back in snapshot order
+		assertEquals(List.of(1L, 2L, 3L), ids(index.bySector("E")));
+		assertEquals(List.of("Finance et Investissement", "Tourisme", "Énergie renouvelable"), index.getSectors());
+		assertEquals(List.of(1L, 3L), ids(index.getFeatured()));
+		assertEquals("maroc", index.getPopularTags().get(0));
+		assertEquals(3, index.getStatistics().get("totalArticles"));
+		assertEquals(2L, index.getStatistics().get("featuredArticles"));
+	}
+
+	private static List<Long> ids(List<ArticleDTO> articles) {
+		return articles.stream().map(ArticleDTO::getId).collect(Collectors.toList());
+	}
+
+	private static ArticleDTO article(Long id, String title, String content, String sector, boolean featured, String... tags) {
+		return ArticleDTO.builder()
+				.id(id)
+				.title(title)
+				.content(content)
+				.sector(sector)
+				.views(10)
+				.tags(List.of(tags))
+				.featured(featured)
+				.sourceName("Test")
+				.build();
+	}
+}
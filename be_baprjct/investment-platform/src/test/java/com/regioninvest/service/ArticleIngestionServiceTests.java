@@ -0,0 +1,69 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.ArticleDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = "app.articles.refresh-initial-delay-ms=3600000")
+class ArticleIngestionServiceTests {
+
+	@Autowired
+	private ArticleIngestionService articleIngestionService;
+
+	@Autowired
+	private ArticleDeduplicator articleDeduplicator;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void ingestInsertsOnlyUnseenSourceUrls() {
+		ArticleDTO first = article("Investissement solaire à Ouarzazate", "https://example.com/a");
+		ArticleDTO duplicate = article("Investissement solaire (copie)", "https://example.com/a");
+		ArticleDTO second = article("Nouveau fonds agricole", "https://example.com/b");
+
+		assertEquals(2, articleIngestionService.ingest(List.of(first, duplicate, second)));
+		assertEquals(0, articleIngestionService.ingest(List.of(second, first)));
+
+		List<ArticleDTO> latest = articleIngestionService.loadLatest(10);
+		assertEquals(2, latest.size());
+		assertEquals("2025-01-02", latest.get(0).getDate());
+	}
+
+	@Test
+	void rolledBackIngestionLeavesNoPhantomInTheDuplicateIndex() {
+		ArticleDTO article = article("Tanger Med lance une nouvelle plateforme logistique", "https://example.com/tanger");
+		ArticleDeduplicator.Fingerprint fingerprint = articleDeduplicator.fingerprint(article.getTitle());
+
+		// Échec au commit: la transaction englobante est annulée après le retour de ingest()
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			assertEquals(1, articleIngestionService.ingest(List.of(article)));
+			assertNotNull(articleDeduplicator.findDuplicate(fingerprint));
+			status.setRollbackOnly();
+		});
+		assertNull(articleDeduplicator.findDuplicate(fingerprint));
+	}
+
+	private ArticleDTO article(String title, String url) {
+		return ArticleDTO.builder()
+				.title(title)
+				.content(title)
+				.sector("Énergie renouvelable")
+				.date(url.endsWith("b") ? "2025-01-02" : "2025-01-01")
+				.readingTime("3 min")
+				.views(0)
+				.tags(List.of("maroc"))
+				.sourceUrl(url)
+				.sourceName("Test")
+				.build();
+	}
+}
@@ -0,0 +1,65 @@
+package com.regioninvest.service;
+
+import com.regioninvest.dto.ArticleDTO;
+import com.regioninvest.util.FeedHttpClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArticleSourceFetcherTests {
+
+	private final FeedSource source = new FeedSource();
+	private final ArticleSourceFetcher fetcher = new ArticleSourceFetcher(List.of(source), new SimpleMeterRegistry(), 1);
+
+	@AfterEach
+	void tearDown() {
+		fetcher.shutdown();
+	}
+
+	@Test
+	void validatorsAreOnlySentBackOnceTheirArticlesAreCommitted() {
+		ReflectionTestUtils.setField(fetcher, "sourceTimeoutMillis", 5000L);
+		ReflectionTestUtils.setField(fetcher, "failureThreshold", 3);
+
+		assertEquals(1, fetcher.fetchAll().getArticles().size());
+		// Résultat perdu (ingestion échouée): la requête suivante n'est pas conditionnelle
+		ArticleSourceFetcher.Batch batch = fetcher.fetchAll();
+		assertEquals(1, batch.getArticles().size());
+		assertNull(source.received.get(1));
+
+		fetcher.commit(batch);
+		assertTrue(fetcher.fetchAll().getArticles().isEmpty());
+		assertEquals("\"v1\"", source.received.get(2).getEtag());
+	}
+
+	/**
+	 * Feed answering 304 to its current ETag
+	 */
+	private static class FeedSource implements ArticleSource {
+		private final List<FeedHttpClient.Validators> received = new ArrayList<>();
+
+		@Override
+		public String getName() {
+			return "feed";
+		}
+
+		@Override
+		public Result fetchArticles(FeedHttpClient.Validators validators) {
+			received.add(validators);
+			if (validators != null && "\"v1\"".equals(validators.getEtag())) {
+				return Result.notModified(validators);
+			}
+			ArticleDTO article = ArticleDTO.builder().title("Nouvelle zone industrielle à Kénitra")
+					.sourceUrl("https://example.ma/zone-kenitra").build();
+			return Result.of(List.of(article), new FeedHttpClient.Validators("\"v1\"", null));
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.regioninvest.service;
+
+import com.regioninvest.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArticleViewServiceTests {
+
+	private static final Instant MONDAY = Instant.parse("2025-03-03T10:00:00Z");
+
+	private final ArticleViewService views = new ArticleViewService();
+	private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+	@BeforeEach
+	void setUp() {
+		when(articleRepository.existsById(anyLong())).thenAnswer(call -> call.<Long>getArgument(0) < 100);
+		ReflectionTestUtils.setField(views, "articleRepository", articleRepository);
+		ReflectionTestUtils.setField(views, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(views, "topSize", 10);
+		ReflectionTestUtils.setField(views, "maxMissing", 100);
+		views.clock = Clock.fixed(MONDAY, ZoneOffset.UTC);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void flushAddsPendingViewsInOneBatch() {
+		for (int i = 0; i < 3; i++) {
+			assertTrue(views.recordView(1L));
+		}
+		assertTrue(views.recordView(2L));
+		assertFalse(views.recordView(404L));
+		assertFalse(views.recordView(404L));
+		// Chaque id n'est vérifié en base qu'une fois, qu'il existe ou non
+		verify(articleRepository, times(1)).existsById(1L);
+		verify(articleRepository, times(1)).existsById(404L);
+
+		views.flush();
+		ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).batchUpdate(eq("UPDATE articles SET views = views + ? WHERE id = ?"), batch.capture());
+		assertEquals(2, batch.getValue().size());
+		assertArrayEquals(new Object[]{3L, 1L}, batch.getValue().stream().filter(row -> row[1].equals(1L)).findFirst().orElseThrow());
+		assertArrayEquals(new Object[]{1L, 2L}, batch.getValue().stream().filter(row -> row[1].equals(2L)).findFirst().orElseThrow());
+
+		// Rien de nouveau: pas de requête
+		views.flush();
+		verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+
+		views.onArticlesAdded();
+		assertFalse(views.recordView(404L));
+		verify(articleRepository, times(2)).existsById(404L);
+	}
+
+	@Test
+	void weeklyRankingDropsDaysOlderThanSevenDays() {
+		record(1L, 5);
+		at(3);
+		record(2L, 3);
+		views.flush();
+		assertEquals(List.of(1L, 2L), ranking());
+		assertEquals(5, views.getTopThisWeek(10).get(0).getViews());
+
+		// Sept jours plus tard, le compartiment du lundi est réutilisé pour le jour courant
+		at(7);
+		views.flush();
+		assertEquals(List.of(2L), ranking());
+		record(3L, 4);
+		views.flush();
+		assertEquals(List.of(3L, 2L), ranking());
+	}
+
+	private void record(Long articleId, int count) {
+		for (int i = 0; i < count; i++) {
+			views.recordView(articleId);
+		}
+	}
+
+	private void at(int days) {
+		views.clock = Clock.fixed(MONDAY.plus(days, ChronoUnit.DAYS), ZoneOffset.UTC);
+	}
+
+	private List<Long> ranking() {
+		return views.getTopThisWeek(10).stream().map(ArticleViewService.ViewCount::getArticleId).toList();
+	}
+}
@@ -0,0 +1,116 @@
+package com.regioninvest.service;
+
+import com.regioninvest.entity.StoredFile;
+import com.regioninvest.repository.StoredFileRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+		"app.upload.dir=target/test-uploads",
+		"app.upload.release-grace-minutes=-1",
+		"app.upload.release-sweep-interval-ms=3600000"
+})
+class FileStorageServiceTests {
+
+	@Autowired
+	private FileStorageService fileStorageService;
+
+	@Autowired
+	private StoredFileRepository storedFileRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void storesIdenticalUploadsOnceAndDeletesThemWhenUnreferenced() throws Exception {
+		byte[] content = "fiche projet".getBytes(StandardCharsets.UTF_8);
+
+		String first = store(new MockMultipartFile("pdfFile", "a.pdf", "application/pdf", content));
+		String second = store(new MockMultipartFile("pdfFile", "b.pdf", "application/pdf", content));
+
+		assertEquals(first, second);
+		assertTrue(first.matches("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.pdf"));
+		Path file = Paths.get("target/test-uploads").resolve(first);
+		assertTrue(Files.exists(file));
+		assertEquals(2, storedFileRepository.findById(first).orElseThrow().getRefCount());
+
+		transactionTemplate.executeWithoutResult(status -> fileStorageService.release(first));
+		fileStorageService.sweepReleased();
+		assertTrue(Files.exists(file));
+
+		transactionTemplate.executeWithoutResult(status -> fileStorageService.release(first));
+		StoredFile released = storedFileRepository.findById(first).orElseThrow();
+		assertEquals(0, released.getRefCount());
+		assertNotNull(released.getReleasedAt());
+
+		String version = PdfPreviewService.version(first);
+		Path preview = Paths.get("target/test-uploads/tmp/previews", version.substring(0, 2), version + "-p1-w640.jpg");
+		Files.createDirectories(preview.getParent());
+		Files.write(preview, new byte[10]);
+
+		fileStorageService.sweepReleased();
+		assertFalse(Files.exists(file));
+		assertFalse(Files.exists(preview));
+		assertFalse(storedFileRepository.existsById(first));
+	}
+
+	@Test
+	void concurrentFirstUploadsOfTheSameContentShareOneRow() throws Exception {
+		int uploads = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(uploads);
+		try {
+			for (int round = 0; round < 10; round++) {
+				byte[] content = ("fiche concurrente " + round).getBytes(StandardCharsets.UTF_8);
+				CyclicBarrier start = new CyclicBarrier(uploads);
+				List<Future<String>> stored = new ArrayList<>();
+				for (int i = 0; i < uploads; i++) {
+					stored.add(executor.submit(() -> {
+						start.await();
+						return store(new MockMultipartFile("pdfFile", "c.pdf", "application/pdf", content));
+					}));
+				}
+
+				Set<String> paths = new HashSet<>();
+				for (Future<String> path : stored) {
+					paths.add(path.get(30, TimeUnit.SECONDS));
+				}
+				assertEquals(1, paths.size());
+				assertEquals(uploads, storedFileRepository.findById(paths.iterator().next()).orElseThrow().getRefCount());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private String store(MockMultipartFile file) {
+		return transactionTemplate.execute(status -> {
+			try {
+				return fileStorageService.store(file, "pdf");
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+}
@@ -0,0 +1,62 @@
+package com.regioninvest.service;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageDerivativeServiceTests {
+
+	@Test
+	void readsOrientationFromBothByteOrders() {
+		// Exif header, TIFF header, IFD0 with one entry: 0x0112 SHORT count 1 value 6
+		byte[] motorola = {'E', 'x', 'i', 'f', 0, 0,
+				'M', 'M', 0, 42, 0, 0, 0, 8,
+				0, 1, 0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, 6, 0, 0};
+		byte[] intel = {'E', 'x', 'i', 'f', 0, 0,
+				'I', 'I', 42, 0, 8, 0, 0, 0,
+				1, 0, 0x12, 0x01, 3, 0, 1, 0, 0, 0, 8, 0, 0, 0};
+
+		assertEquals(6, ImageDerivativeService.orientationFromExif(motorola));
+		assertEquals(8, ImageDerivativeService.orientationFromExif(intel));
+		assertEquals(0, ImageDerivativeService.orientationFromExif(new byte[]{'J', 'F', 'I', 'F'}));
+	}
+
+	@Test
+	void namesVariantsNextToTheOriginal() {
+		assertEquals("project_1_ferme_catalog.jpg",
+				ImageDerivativeService.variantName("project_1_ferme.png", ImageDerivativeService.Variant.CATALOG, false));
+		assertEquals("project_1_ferme_thumb.png",
+				ImageDerivativeService.variantName("project_1_ferme.png", ImageDerivativeService.Variant.THUMB, true));
+	}
+
+	@Test
+	void previewIsATinyDataUriOfTheCroppedImage() throws Exception {
+		BufferedImage photo = new BufferedImage(1600, 900, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = photo.createGraphics();
+		graphics.setColor(new Color(30, 120, 200));
+		graphics.fillRect(0, 0, 1600, 900);
+		graphics.dispose();
+
+		String preview = ImageDerivativeService.preview(photo, false);
+		assertTrue(preview.startsWith("data:image/jpeg;base64,"));
+		assertTrue(preview.length() < 1024, "LQIP trop gros: " + preview.length());
+
+		BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(
+				Base64.getDecoder().decode(preview.substring(preview.indexOf(',') + 1))));
+		assertEquals(16, decoded.getWidth());
+		assertEquals(10, decoded.getHeight());
+		Color center = new Color(decoded.getRGB(8, 5));
+		assertTrue(Math.abs(center.getBlue() - 200) < 20 && Math.abs(center.getRed() - 30) < 20);
+
+		BufferedImage logo = new BufferedImage(300, 300, BufferedImage.TYPE_INT_ARGB);
+		assertTrue(ImageDerivativeService.preview(logo, true).startsWith("data:image/png;base64,"));
+	}
+}
@@ -0,0 +1,50 @@
+package com.regioninvest.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.regioninvest.entity.EmailStatus;
+import com.regioninvest.entity.OutboxEmail;
+import com.regioninvest.repository.OutboxEmailRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = {
+		"spring.mail.host=localhost",
+		"spring.mail.port=3025",
+		"app.mail.dispatch-initial-delay-ms=3600000"
+})
+class MailOutboxServiceTests {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	@Autowired
+	private MailOutboxService mailOutboxService;
+
+	@Autowired
+	private OutboxEmailRepository outboxEmailRepository;
+
+	@Test
+	void dispatchSendsPendingEmailsAndMarksThemSent() throws Exception {
+		OutboxEmail first = mailOutboxService.enqueue("porteur1@example.com", "Sujet 1", "Corps 1");
+		OutboxEmail second = mailOutboxService.enqueue("user1@example.com", "Sujet 2", "Corps 2");
+
+		mailOutboxService.dispatchPending();
+
+		MimeMessage[] received = greenMail.getReceivedMessages();
+		assertEquals(2, received.length);
+		assertEquals("Sujet 1", received[0].getSubject());
+
+		OutboxEmail sent = outboxEmailRepository.findById(first.getId()).orElseThrow();
+		assertEquals(EmailStatus.SENT, sent.getStatus());
+		assertEquals(1, sent.getAttempts());
+		assertNotNull(sent.getSentAt());
+		assertEquals(EmailStatus.SENT, outboxEmailRepository.findById(second.getId()).orElseThrow().getStatus());
+	}
+}
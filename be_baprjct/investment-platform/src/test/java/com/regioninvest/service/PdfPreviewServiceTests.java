@@ -0,0 +1,66 @@
+package com.regioninvest.service;
+
+import com.regioninvest.ProjectFilesTests;
+import com.regioninvest.dto.ProjectDTO;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdfPreviewServiceTests extends ProjectFilesTests {
+
+	@Autowired
+	private PdfPreviewService pdfPreviewService;
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private BlobStore blobStore;
+
+	@Test
+	void previewIsRenderedOnceAtAnAllowedWidth() throws Exception {
+		ProjectDTO project = projectService.createProject(projectRequest("Unité de conditionnement de dattes"), null,
+				new MockMultipartFile("pdfFile", "fiche.pdf", "application/pdf", pdf("Fiche de présentation")), "porteur1");
+		String pdfFile = projectService.findProjectPdf(project.getId()).getKey();
+		assertTrue(project.getPdfPreviewUrl().endsWith("?page=1&v=" + PdfPreviewService.urlVersion(pdfFile)));
+
+		int width = pdfPreviewService.normalizeWidth(500);
+		assertEquals(640, width);
+
+		Path preview = pdfPreviewService.preview(pdfFile, 1, width);
+		BufferedImage image = ImageIO.read(preview.toFile());
+		assertEquals(640, image.getWidth());
+		assertEquals(Math.round(640 * PDRectangle.A4.getHeight() / PDRectangle.A4.getWidth()), image.getHeight(), 1);
+
+		long rendered = Files.getLastModifiedTime(preview).toMillis();
+		Thread.sleep(20);
+		assertEquals(preview, pdfPreviewService.preview(pdfFile, 1, width));
+		assertEquals(rendered, Files.getLastModifiedTime(preview).toMillis());
+
+		assertThrows(IllegalArgumentException.class, () -> pdfPreviewService.preview(pdfFile, 2, width));
+	}
+
+	@Test
+	void pagesPastTheEndAreRefusedWithoutReadingThePdfAgain() throws Exception {
+		ProjectDTO project = projectService.createProject(projectRequest("Station de dessalement à Dakhla"), null,
+				new MockMultipartFile("pdfFile", "etude.pdf", "application/pdf", pdf("Étude de faisabilité")), "porteur1");
+		String pdfFile = projectService.findProjectPdf(project.getId()).getKey();
+		pdfPreviewService.preview(pdfFile, 1, 160);
+
+		// Sans le nombre de pages mémorisé, la page demandée obligerait à relire le PDF (supprimé ici)
+		blobStore.delete(pdfFile);
+		assertThrows(IllegalArgumentException.class, () -> pdfPreviewService.preview(pdfFile, 99999, 160));
+		assertThrows(IOException.class, () -> pdfPreviewService.preview(pdfFile, 1, 320));
+	}
+}
@@ -0,0 +1,58 @@
+package com.regioninvest.service;
+
+import com.regioninvest.ProjectFilesTests;
+import com.regioninvest.dto.ProjectDTO;
+import com.regioninvest.repository.PdfTextRepository;
+import com.regioninvest.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class PdfTextServiceTests extends ProjectFilesTests {
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private PdfTextRepository pdfTextRepository;
+
+	@Test
+	void searchFindsPdfTextAfterTitleMatches() throws Exception {
+		byte[] pdf = pdf("Fiche technique: serres hydroponiques Zyrkonia, rendement 40 t/ha");
+		ProjectDTO first = projectService.createProject(projectRequest("Serres de Figuig"),
+				null, new MockMultipartFile("pdfFile", "fiche.pdf", "application/pdf", pdf), "porteur1");
+		ProjectDTO second = projectService.createProject(projectRequest("Oasis de Figuig"),
+				null, new MockMultipartFile("pdfFile", "copie.pdf", "application/pdf", pdf), "porteur1");
+		ProjectDTO titled = projectService.createProject(projectRequest("Coopérative Zyrkonia"), null, null, "porteur1");
+
+		String hash = awaitPdfText(first.getId());
+		assertEquals(hash, awaitPdfText(second.getId()));
+		assertEquals("fiche technique: serres hydroponiques zyrkonia, rendement 40 t/ha",
+				pdfTextRepository.findById(hash).orElseThrow().getContent());
+
+		List<Long> found = projectService.searchProjects("ZYRKONIA", PageRequest.of(0, 10)).getProjects().stream()
+				.map(ProjectDTO::getId).toList();
+		assertEquals(3, found.size());
+		assertEquals(titled.getId(), found.get(0));
+	}
+
+	private String awaitPdfText(Long projectId) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			String hash = projectRepository.findById(projectId).orElseThrow().getPdfTextHash();
+			if (hash != null) {
+				return hash;
+			}
+			Thread.sleep(100);
+		}
+		return fail("Texte du PDF non extrait pour le projet " + projectId);
+	}
+}
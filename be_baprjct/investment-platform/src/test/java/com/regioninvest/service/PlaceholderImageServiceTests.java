@@ -0,0 +1,29 @@
+package com.regioninvest.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PlaceholderImageServiceTests {
+
+	@Test
+	void arbitrarySizesDoNotEvictTheApplicationSizes() {
+		PlaceholderImageService service = new PlaceholderImageService(2);
+		byte[] catalog = service.render(400, 250);
+		byte[] detail = service.render(800, 400);
+
+		byte[] first = service.render(1, 1);
+		assertSame(first, service.render(1, 1));
+		for (int width = 2; width < 50; width++) {
+			service.render(width, 1);
+		}
+
+		assertSame(catalog, service.render(400, 250));
+		assertSame(detail, service.render(800, 400));
+		assertNotSame(first, service.render(1, 1));
+		assertThrows(IllegalArgumentException.class, () -> service.render(0, 10));
+		assertThrows(IllegalArgumentException.class, () -> service.render(10, PlaceholderImageService.MAX_SIZE + 1));
+	}
+}
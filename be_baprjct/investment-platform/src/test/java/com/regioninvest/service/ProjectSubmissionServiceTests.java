@@ -0,0 +1,55 @@
+package com.regioninvest.service;
+
+import com.regioninvest.ProjectFilesTests;
+import com.regioninvest.entity.ProjectSubmission;
+import com.regioninvest.entity.SubmissionStatus;
+import com.regioninvest.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProjectSubmissionServiceTests extends ProjectFilesTests {
+
+	@Autowired
+	private ProjectSubmissionService projectSubmissionService;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Test
+	void createsProjectInBackgroundAndReportsIt() throws Exception {
+		MockMultipartFile pdf = new MockMultipartFile("pdfFile", "dossier.pdf", "application/pdf",
+				"%PDF-1.4 dossier".getBytes(StandardCharsets.US_ASCII));
+
+		ProjectSubmission accepted = projectSubmissionService.submit(projectRequest("Soumission asynchrone"),
+				null, pdf, "porteur1");
+		assertEquals(SubmissionStatus.PENDING, accepted.getStatus());
+
+		ProjectSubmission submission = accepted;
+		for (int i = 0; i < 100 && submission.getStatus() != SubmissionStatus.COMPLETED
+				&& submission.getStatus() != SubmissionStatus.FAILED; i++) {
+			Thread.sleep(100);
+			submission = projectSubmissionService.getSubmission(accepted.getId(), "porteur1");
+		}
+
+		assertEquals(SubmissionStatus.COMPLETED, submission.getStatus(), submission.getError());
+		String pdfUrl = projectRepository.findById(submission.getProjectId()).orElseThrow().getPdfUrl();
+		assertTrue(pdfUrl.matches("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.pdf"));
+		assertTrue(Files.exists(Paths.get(UPLOAD_DIR).resolve(pdfUrl)));
+		// Fichiers de la soumission supprimés par le worker juste après le commit
+		Path staged = Paths.get(UPLOAD_DIR, "tmp", "submissions").resolve(accepted.getId() + "-pdf.part");
+		for (int i = 0; i < 50 && Files.exists(staged); i++) {
+			Thread.sleep(20);
+		}
+		assertFalse(Files.exists(staged));
+	}
+}
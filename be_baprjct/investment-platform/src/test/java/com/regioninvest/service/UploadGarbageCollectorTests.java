@@ -0,0 +1,94 @@
+package com.regioninvest.service;
+
+import com.regioninvest.entity.StoredFile;
+import com.regioninvest.repository.StoredFileRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+		"app.upload.dir=target/test-gc-uploads",
+		"app.upload.gc.grace-minutes=60",
+		"app.upload.gc.batch-size=2",
+		"app.upload.gc.batch-pause-ms=0",
+		"app.upload.gc.initial-delay-ms=3600000"
+})
+class UploadGarbageCollectorTests {
+
+	private static final Path ROOT = Paths.get("target/test-gc-uploads");
+
+	@Autowired
+	private UploadGarbageCollector uploadGarbageCollector;
+
+	@Autowired
+	private StoredFileRepository storedFileRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void deletesOldUnreferencedFilesOnly() throws Exception {
+		Path counted = write("gc/aa/counted.pdf", 10, true);
+		storedFileRepository.save(new StoredFile("gc/aa/counted.pdf", 10L));
+		Path orphan = write("gc/bb/orphan.pdf", 300, true);
+		Path orphanVariant = write("gc/bb/orphan_thumb.jpg", 200, true);
+		Path recent = write("gc/cc/recent.pdf", 50, false);
+		Path staleTemp = write("tmp/upload-1.part", 40, true);
+		Path orphanPreview = write(preview("gc/bb/orphan.pdf"), 30, false);
+		Path countedPreview = write(preview("gc/aa/counted.pdf"), 30, false);
+
+		double before = meterRegistry.get("uploads.gc.reclaimed").counter().count();
+		long reclaimed = uploadGarbageCollector.collect();
+
+		assertEquals(540, reclaimed);
+		assertEquals(540, meterRegistry.get("uploads.gc.reclaimed").counter().count() - before);
+		assertTrue(Files.exists(counted));
+		assertTrue(Files.exists(recent));
+		assertFalse(Files.exists(orphan));
+		assertFalse(Files.exists(orphanVariant));
+		assertFalse(Files.exists(staleTemp));
+		assertFalse(Files.exists(orphanPreview));
+		assertTrue(Files.exists(countedPreview));
+	}
+
+	@Test
+	void fingerprintSetFindsAddedValues() {
+		UploadGarbageCollector.FingerprintSet set = new UploadGarbageCollector.FingerprintSet();
+		for (int i = 0; i < 5000; i++) {
+			set.add("ab/cd/file-" + i + ".jpg");
+		}
+		set.add(null);
+		set.seal();
+
+		assertEquals(5000, set.size());
+		assertTrue(set.contains("ab/cd/file-4999.jpg"));
+		assertFalse(set.contains("ab/cd/file-5000.jpg"));
+	}
+
+	private static String preview(String pdfFile) {
+		String version = PdfPreviewService.version(pdfFile);
+		return "tmp/previews/" + version.substring(0, 2) + "/" + version + "-p1-w640.jpg";
+	}
+
+	private static Path write(String key, int size, boolean old) throws Exception {
+		Path file = ROOT.resolve(key);
+		Files.createDirectories(file.getParent());
+		Files.write(file, new byte[size]);
+		if (old) {
+			Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS)));
+		}
+		return file;
+	}
+}
@@ -0,0 +1,60 @@
+package com.regioninvest.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FileRangeSenderTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void sendsRequestedRangeAndAnswersNotModifiedForSameEtag() throws Exception {
+		Path file = dir.resolve("fiche.pdf");
+		Files.writeString(file, "0123456789", StandardCharsets.US_ASCII);
+
+		MockHttpServletResponse full = send(new MockHttpServletRequest("GET", "/pdf"), file);
+		assertEquals(200, full.getStatus());
+		assertEquals("0123456789", full.getContentAsString());
+		String etag = full.getHeader("ETag");
+
+		MockHttpServletRequest rangeRequest = new MockHttpServletRequest("GET", "/pdf");
+		rangeRequest.addHeader("Range", "bytes=2-4");
+		MockHttpServletResponse partial = send(rangeRequest, file);
+		assertEquals(206, partial.getStatus());
+		assertEquals("bytes 2-4/10", partial.getHeader("Content-Range"));
+		assertEquals("234", partial.getContentAsString());
+
+		MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/pdf");
+		conditional.addHeader("If-None-Match", etag);
+		MockHttpServletResponse notModified = send(conditional, file);
+		assertEquals(304, notModified.getStatus());
+		assertEquals(0, notModified.getContentAsByteArray().length);
+	}
+
+	@Test
+	void parsesSingleByteRanges() {
+		assertArrayEquals(new long[]{0, 9}, FileRangeSender.parseRange("bytes=0-", 10));
+		assertArrayEquals(new long[]{7, 9}, FileRangeSender.parseRange("bytes=-3", 10));
+		assertArrayEquals(new long[]{5, 9}, FileRangeSender.parseRange("bytes=5-100", 10));
+		assertArrayEquals(new long[0], FileRangeSender.parseRange("bytes=0-1,4-5", 10));
+		assertArrayEquals(new long[0], FileRangeSender.parseRange("items=0-1", 10));
+		assertNull(FileRangeSender.parseRange("bytes=10-", 10));
+	}
+
+	private static MockHttpServletResponse send(MockHttpServletRequest request, Path file) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FileRangeSender.send(request, response, file, "application/pdf", null, "private, max-age=60");
+		return response;
+	}
+}
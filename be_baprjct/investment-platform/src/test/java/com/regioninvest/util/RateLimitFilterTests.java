@@ -0,0 +1,112 @@
+package com.regioninvest.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTests {
+
+	private final RateLimitFilter filter = new RateLimitFilter();
+
+	@BeforeEach
+	void setUp() {
+		RateLimiter limiter = new RateLimiter();
+		ReflectionTestUtils.setField(limiter, "enabled", true);
+		ReflectionTestUtils.setField(limiter, "maxKeys", 1000);
+		ReflectionTestUtils.setField(limiter, "authCapacity", 2);
+		ReflectionTestUtils.setField(limiter, "authRefillPerMinute", 1);
+		ReflectionTestUtils.setField(limiter, "viewCapacity", 1);
+		ReflectionTestUtils.setField(limiter, "viewRefillPerMinute", 1);
+		ReflectionTestUtils.setField(limiter, "previewCapacity", 2);
+		ReflectionTestUtils.setField(limiter, "previewRefillPerMinute", 1);
+		limiter.init();
+		ReflectionTestUtils.setField(filter, "rateLimiter", limiter);
+	}
+
+	@Test
+	void answersTooManyRequestsWithRetryAfterOnceTheGroupIsEmpty() throws Exception {
+		assertPassed(send("POST", "/api/auth/login", "10.0.0.1"));
+		assertPassed(send("POST", "/api/auth/register", "10.0.0.1"));
+
+		MockHttpServletResponse rejected = send("POST", "/api/auth/login", "10.0.0.1");
+		assertEquals(429, rejected.getStatus());
+		long retryAfter = Long.parseLong(rejected.getHeader("Retry-After"));
+		assertTrue(retryAfter > 0 && retryAfter <= 60, "Retry-After " + retryAfter);
+		assertEquals("application/json", rejected.getContentType());
+		JsonNode body = new ObjectMapper().readTree(rejected.getContentAsByteArray());
+		assertEquals(429, body.get("status").asInt());
+		assertEquals("/api/auth/login", body.get("path").asText());
+
+		// Autre client, autre méthode, route non limitée: laissés passer
+		assertPassed(send("POST", "/api/auth/login", "10.0.0.2"));
+		assertPassed(send("GET", "/api/auth/login", "10.0.0.1"));
+		assertPassed(send("GET", "/api/projects", "10.0.0.1"));
+	}
+
+	@Test
+	void limitsArticleViewsPerClient() throws Exception {
+		assertPassed(send("POST", "/api/articles/7/view", "10.0.0.1"));
+		assertEquals(429, send("POST", "/api/articles/8/view", "10.0.0.1").getStatus());
+		assertPassed(send("GET", "/api/articles/7", "10.0.0.1"));
+	}
+
+	@Test
+	void limitsPdfPreviewsPerClient() throws Exception {
+		assertPassed(send("GET", "/api/projects/3/pdf/preview", "10.0.0.1"));
+		assertPassed(send("GET", "/api/projects/4/pdf/preview", "10.0.0.1"));
+		assertEquals(429, send("GET", "/api/projects/3/pdf/preview", "10.0.0.1").getStatus());
+		assertPassed(send("GET", "/api/projects/3/pdf", "10.0.0.1"));
+	}
+
+	@Test
+	void forwardedForIsOnlyUsedWhenTrusted() throws Exception {
+		MockHttpServletRequest first = request("POST", "/api/articles/7/view", "10.0.0.1");
+		first.addHeader("X-Forwarded-For", "203.0.113.5, 10.0.0.1");
+		assertPassed(run(first));
+		MockHttpServletRequest spoofed = request("POST", "/api/articles/7/view", "10.0.0.1");
+		spoofed.addHeader("X-Forwarded-For", "203.0.113.6");
+		assertEquals(429, run(spoofed).getStatus());
+
+		ReflectionTestUtils.setField(filter, "trustForwardedFor", true);
+		MockHttpServletRequest proxied = request("POST", "/api/articles/7/view", "10.0.0.1");
+		proxied.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+		assertPassed(run(proxied));
+	}
+
+	private MockHttpServletResponse send(String method, String path, String ip) throws Exception {
+		return run(request(method, path, ip));
+	}
+
+	private static MockHttpServletRequest request(String method, String path, String ip) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+		request.setServletPath(path);
+		request.setRemoteAddr(ip);
+		return request;
+	}
+
+	private MockHttpServletResponse run(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(request, response, chain);
+		if (response.getStatus() != 429) {
+			assertNotNull(chain.getRequest());
+		} else {
+			assertNull(chain.getRequest());
+		}
+		return response;
+	}
+
+	private static void assertPassed(MockHttpServletResponse response) {
+		assertEquals(200, response.getStatus());
+	}
+}
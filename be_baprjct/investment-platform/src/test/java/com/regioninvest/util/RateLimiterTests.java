@@ -0,0 +1,81 @@
+package com.regioninvest.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTests {
+
+	private final RateLimiter limiter = new RateLimiter();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(limiter, "enabled", true);
+		ReflectionTestUtils.setField(limiter, "maxKeys", 1000);
+		// Recherche: 3 jetons, un nouveau toutes les 50 ms
+		ReflectionTestUtils.setField(limiter, "searchCapacity", 3);
+		ReflectionTestUtils.setField(limiter, "searchRefillPerMinute", 1200);
+		// Rafraîchissement: 1 jeton par minute
+		ReflectionTestUtils.setField(limiter, "refreshCapacity", 1);
+		ReflectionTestUtils.setField(limiter, "refreshRefillPerMinute", 1);
+		limiter.init();
+	}
+
+	@Test
+	void allowsTheCapacityThenDeniesUntilTheNextEmission() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire(RateLimiter.GROUP_SEARCH, "10.0.0.1"));
+		}
+		long wait = limiter.tryAcquire(RateLimiter.GROUP_SEARCH, "10.0.0.1");
+		assertTrue(wait > 0 && wait <= 50, "wait " + wait);
+
+		// Autre client, autre groupe, groupe inconnu: compteurs indépendants
+		assertEquals(0, limiter.tryAcquire(RateLimiter.GROUP_SEARCH, "10.0.0.2"));
+		assertEquals(0, limiter.tryAcquire(RateLimiter.GROUP_REFRESH, "10.0.0.1"));
+		assertEquals(0, limiter.tryAcquire("unknown", "10.0.0.1"));
+
+		Thread.sleep(wait + 5);
+		assertEquals(0, limiter.tryAcquire(RateLimiter.GROUP_SEARCH, "10.0.0.1"));
+		assertTrue(limiter.tryAcquire(RateLimiter.GROUP_SEARCH, "10.0.0.1") > 0);
+
+		long refreshWait = limiter.tryAcquire(RateLimiter.GROUP_REFRESH, "10.0.0.1");
+		assertTrue(refreshWait > 59_000 && refreshWait <= 60_000, "wait " + refreshWait);
+	}
+
+	@Test
+	void disabledLimiterAllowsEverything() {
+		ReflectionTestUtils.setField(limiter, "enabled", false);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, limiter.tryAcquire(RateLimiter.GROUP_REFRESH, "10.0.0.1"));
+		}
+	}
+
+	@Test
+	void evictsOnlyBucketsThatAreFullAgain() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			limiter.tryAcquire(RateLimiter.GROUP_SEARCH, "10.0.1." + i);
+		}
+		limiter.tryAcquire(RateLimiter.GROUP_REFRESH, "10.0.0.1");
+		assertEquals(21, bucketCount());
+
+		Thread.sleep(80);
+		limiter.evictIdleBuckets();
+		assertEquals(1, bucketCount());
+		// Le seau encore entamé est gardé: le client reste limité
+		assertTrue(limiter.tryAcquire(RateLimiter.GROUP_REFRESH, "10.0.0.1") > 0);
+	}
+
+	@SuppressWarnings("unchecked")
+	private int bucketCount() {
+		int count = 0;
+		for (Map<String, ?> stripe : (Map<String, ?>[]) ReflectionTestUtils.getField(limiter, "stripes")) {
+			count += stripe.size();
+		}
+		return count;
+	}
+}
@@ -0,0 +1,77 @@
+package com.regioninvest.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RssFeedParserTests {
+
+	private final RssFeedParser parser = new RssFeedParser(100, 10000);
+
+	@Test
+	void parsesRss2ItemsAndIgnoresChannelFields() throws Exception {
+		String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+				+ "<rss version=\"2.0\" xmlns:atom=\"http://www.w3.org/2005/Atom\"><channel>"
+				+ "<title>Canal</title><link>https://example.com</link>"
+				+ "<item><title>Énergie &amp; investissement</title>"
+				+ "<link>https://example.com/a</link><atom:link href=\"https://example.com/self\"/>"
+				+ "<description><![CDATA[<p>Un <b>fonds</b> solaire</p>]]></description>"
+				+ "<pubDate>Mon, 13 Oct 2025 08:30:00 +0100</pubDate></item>"
+				+ "<item><title>Sans lien</title></item>"
+				+ "</channel></rss>";
+
+		List<RssFeedParser.FeedItem> items = parse(xml);
+
+		assertEquals(2, items.size());
+		assertEquals("Énergie & investissement", items.get(0).getTitle());
+		assertEquals("https://example.com/a", items.get(0).getLink());
+		assertEquals("Un fonds solaire", items.get(0).getDescription());
+		assertEquals(local(2025, 10, 13, 7, 30), RssFeedParser.parseDate(items.get(0).getPubDate()));
+		assertNull(items.get(1).getLink());
+	}
+
+	@Test
+	void parsesRdfItemsWithDublinCoreDate() throws Exception {
+		String xml = "<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\""
+				+ " xmlns=\"http://purl.org/rss/1.0/\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\">"
+				+ "<channel><title>AllAfrica</title></channel>"
+				+ "<item rdf:about=\"https://example.com/b\"><title>Maroc: croissance</title>"
+				+ "<link>https://example.com/b</link><dc:date>2025-10-12T10:00:00Z</dc:date></item>"
+				+ "</rdf:RDF>";
+
+		List<RssFeedParser.FeedItem> items = parse(xml);
+
+		assertEquals(1, items.size());
+		assertEquals("https://example.com/b", items.get(0).getLink());
+		assertEquals(local(2025, 10, 12, 10, 0), RssFeedParser.parseDate(items.get(0).getPubDate()));
+	}
+
+	@Test
+	void parsesCommonPubDateVariants() {
+		assertEquals(local(2025, 10, 3, 8, 0), RssFeedParser.parseDate("Fri, 3 Oct 2025 08:00:00 GMT"));
+		assertEquals(local(2025, 10, 3, 8, 0), RssFeedParser.parseDate("3 Oct 2025 08:00 +0000"));
+		assertNull(RssFeedParser.parseDate("hier"));
+	}
+
+	private List<RssFeedParser.FeedItem> parse(String xml) throws Exception {
+		List<RssFeedParser.FeedItem> items = new ArrayList<>();
+		parser.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), null, items::add);
+		return items;
+	}
+
+	private LocalDateTime local(int year, int month, int day, int hour, int minute) {
+		return LocalDateTime.of(year, month, day, hour, minute)
+				.atOffset(ZoneOffset.UTC)
+				.atZoneSameInstant(ZoneId.systemDefault())
+				.toLocalDateTime();
+	}
+}
@@ -4,6 +4,7 @@ import PrivacyPolicy from './pages/privacy_policy'
 import TermsConditions from './pages/terms_conditions'
 import Login from './pages/login'
 import ForgotPassword from './pages/forgot_password'
+import ResetPassword from './pages/reset_password'
 import ProjectCatalog from './pages/project_catalog'
 import ProjectDetailsPage from './pages/project_details_page'
 import ChatBot from './pages/chat_bot'
@@ -32,6 +33,7 @@ function App() {
           <Route path="/terms-conditions" element={<TermsConditions />} />
           <Route path="/login" element={<Login />} />
           <Route path="/forgot_password" element={<ForgotPassword />} />
+          <Route path="/reset_password" element={<ResetPassword />} />
 
           {/* Protected Routes */}
           <Route
@@ -5,14 +5,29 @@ const ForgotPassword = () => {
   const [message, setMessage] = useState('');
   const [isLoading, setIsLoading] = useState(false);
 
-  const handleSubmit = () => {
+  const API_BASE_URL = 'http://localhost:8080/api/auth';
+
+  const handleSubmit = async () => {
     setIsLoading(true);
-    
-    // Simulate API call - replace with your actual API call
-    setTimeout(() => {
-      setMessage('Un lien de réinitialisation a été envoyé à votre adresse e-mail.');
+
+    try {
+      const response = await fetch(`${API_BASE_URL}/forgot-password`, {
+        method: 'POST',
+        headers: {
+          'Content-Type': 'application/json',
+        },
+        body: JSON.stringify({ email }),
+      });
+
+      // Même réponse que le compte existe ou non
+      setMessage(response.ok
+        ? 'Un lien de réinitialisation a été envoyé à votre adresse e-mail.'
+        : 'Veuillez saisir une adresse e-mail valide.');
+    } catch (error) {
+      setMessage('Erreur de connexion au serveur.');
+    } finally {
       setIsLoading(false);
-    }, 2000);
+    }
   };
 
   return (
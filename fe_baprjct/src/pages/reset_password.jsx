@@ -0,0 +1,124 @@
+import React, { useState } from 'react';
+import { useNavigate, useSearchParams } from 'react-router-dom';
+
+const ResetPassword = () => {
+  const navigate = useNavigate();
+  const [searchParams] = useSearchParams();
+  const token = searchParams.get('token') || '';
+
+  const [password, setPassword] = useState('');
+  const [confirmPassword, setConfirmPassword] = useState('');
+  const [message, setMessage] = useState('');
+  const [isLoading, setIsLoading] = useState(false);
+
+  const API_BASE_URL = 'http://localhost:8080/api/auth';
+
+  const handleSubmit = async () => {
+    if (!token) {
+      setMessage('Lien de réinitialisation invalide. Veuillez refaire une demande.');
+      return;
+    }
+    if (password.length < 6) {
+      setMessage('Le mot de passe doit contenir au moins 6 caractères.');
+      return;
+    }
+    if (password !== confirmPassword) {
+      setMessage('Les mots de passe ne correspondent pas.');
+      return;
+    }
+
+    setIsLoading(true);
+    try {
+      const response = await fetch(`${API_BASE_URL}/reset-password`, {
+        method: 'POST',
+        headers: {
+          'Content-Type': 'application/json',
+        },
+        body: JSON.stringify({ token, newPassword: password }),
+      });
+
+      if (response.ok) {
+        setMessage('Mot de passe réinitialisé avec succès. Redirection vers la connexion...');
+        setTimeout(() => navigate('/login'), 2000);
+      } else {
+        setMessage('Lien invalide ou expiré. Veuillez refaire une demande.');
+      }
+    } catch (error) {
+      setMessage('Erreur de connexion au serveur.');
+    } finally {
+      setIsLoading(false);
+    }
+  };
+
+  return (
+    <div className="forgot-password-page">
+      <div className="forgot-password-container">
+        <div className="forgot-password-cover">
+          <img src="/images/forgotImg.jpg" alt="" />
+          <div className="forgot-password-text">
+            <span className="forgot-password-text-1">Nouveau mot de passe</span>
+            <span className="forgot-password-text-2">
+              Choisissez un nouveau mot de passe pour votre compte.
+            </span>
+          </div>
+        </div>
+
+        <div className="forgot-password-forms">
+          <div className="forgot-password-form-content">
+            <div className="forgot-password-form">
+              <div className="forgot-password-title">Réinitialisation</div>
+              <div className="forgot-password-subtitle">
+                Entrez et confirmez votre nouveau mot de passe.
+              </div>
+
+              <div className="forgot-password-input-boxes">
+                <div className="forgot-password-input-box">
+                  <i className="fas fa-lock"></i>
+                  <input
+                    type="password"
+                    placeholder="Nouveau mot de passe"
+                    value={password}
+                    onChange={(e) => setPassword(e.target.value)}
+                    required
+                  />
+                </div>
+
+                <div className="forgot-password-input-box">
+                  <i className="fas fa-lock"></i>
+                  <input
+                    type="password"
+                    placeholder="Confirmez le mot de passe"
+                    value={confirmPassword}
+                    onChange={(e) => setConfirmPassword(e.target.value)}
+                    required
+                  />
+                </div>
+
+                <div className="forgot-password-button forgot-password-input-box">
+                  <input
+                    type="button"
+                    value={isLoading ? 'Enregistrement...' : 'Réinitialiser'}
+                    disabled={isLoading}
+                    onClick={handleSubmit}
+                  />
+                </div>
+
+                {message && (
+                  <div className={`forgot-password-message ${message.includes('succès') ? 'success' : 'error'}`}>
+                    {message}
+                  </div>
+                )}
+
+                <div className="forgot-password-text forgot-password-back-text">
+                  <a href="/login">← Retour à la connexion</a>
+                </div>
+              </div>
+            </div>
+          </div>
+        </div>
+      </div>
+    </div>
+  );
+};
+
+export default ResetPassword;